@@ -0,0 +1,250 @@
+package array;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+/**
+ * Atomic access to the elements of plain native arrays for the atomic accessors of
+ * the native slices. Reads and writes have volatile semantics, compare and set of
+ * floating point values compares their raw bits.
+ * <p>
+ * The operations are the access modes of the array element VarHandles of Java 9.
+ * They are looked up reflectively and invoked as method handles, so that the library
+ * still compiles for Java 8 and does not depend on internal API. This class is only
+ * loaded on first atomic access; on a Java 8 runtime that access fails with an
+ * UnsupportedOperationException (as cause of the ExceptionInInitializerError).
+ * Indices are checked by the handles.
+ */
+final class AtomicArrays {
+
+	private AtomicArrays(){}
+
+	private static final MethodHandle INT_GET = handle(int[].class, "GET_VOLATILE");
+	private static final MethodHandle INT_SET = handle(int[].class, "SET_VOLATILE");
+	private static final MethodHandle INT_CAS = handle(int[].class, "COMPARE_AND_SET");
+	private static final MethodHandle INT_GET_AND_SET = handle(int[].class, "GET_AND_SET");
+	private static final MethodHandle INT_GET_AND_ADD = handle(int[].class, "GET_AND_ADD");
+	private static final MethodHandle LONG_GET = handle(long[].class, "GET_VOLATILE");
+	private static final MethodHandle LONG_SET = handle(long[].class, "SET_VOLATILE");
+	private static final MethodHandle LONG_CAS = handle(long[].class, "COMPARE_AND_SET");
+	private static final MethodHandle LONG_GET_AND_SET = handle(long[].class, "GET_AND_SET");
+	private static final MethodHandle LONG_GET_AND_ADD = handle(long[].class, "GET_AND_ADD");
+	private static final MethodHandle FLOAT_GET = handle(float[].class, "GET_VOLATILE");
+	private static final MethodHandle FLOAT_SET = handle(float[].class, "SET_VOLATILE");
+	private static final MethodHandle FLOAT_CAS = handle(float[].class, "COMPARE_AND_SET");
+	private static final MethodHandle FLOAT_GET_AND_SET = handle(float[].class, "GET_AND_SET");
+	private static final MethodHandle FLOAT_GET_AND_ADD = handle(float[].class, "GET_AND_ADD");
+	private static final MethodHandle DOUBLE_GET = handle(double[].class, "GET_VOLATILE");
+	private static final MethodHandle DOUBLE_SET = handle(double[].class, "SET_VOLATILE");
+	private static final MethodHandle DOUBLE_CAS = handle(double[].class, "COMPARE_AND_SET");
+	private static final MethodHandle DOUBLE_GET_AND_SET = handle(double[].class, "GET_AND_SET");
+	private static final MethodHandle DOUBLE_GET_AND_ADD = handle(double[].class, "GET_AND_ADD");
+	private static final MethodHandle SHORT_GET = handle(short[].class, "GET_VOLATILE");
+	private static final MethodHandle SHORT_SET = handle(short[].class, "SET_VOLATILE");
+	private static final MethodHandle SHORT_CAS = handle(short[].class, "COMPARE_AND_SET");
+	private static final MethodHandle SHORT_GET_AND_SET = handle(short[].class, "GET_AND_SET");
+	private static final MethodHandle SHORT_GET_AND_ADD = handle(short[].class, "GET_AND_ADD");
+	private static final MethodHandle CHAR_GET = handle(char[].class, "GET_VOLATILE");
+	private static final MethodHandle CHAR_SET = handle(char[].class, "SET_VOLATILE");
+	private static final MethodHandle CHAR_CAS = handle(char[].class, "COMPARE_AND_SET");
+	private static final MethodHandle CHAR_GET_AND_SET = handle(char[].class, "GET_AND_SET");
+	private static final MethodHandle CHAR_GET_AND_ADD = handle(char[].class, "GET_AND_ADD");
+	private static final MethodHandle BYTE_GET = handle(byte[].class, "GET_VOLATILE");
+	private static final MethodHandle BYTE_SET = handle(byte[].class, "SET_VOLATILE");
+	private static final MethodHandle BYTE_CAS = handle(byte[].class, "COMPARE_AND_SET");
+	private static final MethodHandle BYTE_GET_AND_SET = handle(byte[].class, "GET_AND_SET");
+	private static final MethodHandle BYTE_GET_AND_ADD = handle(byte[].class, "GET_AND_ADD");
+
+	/** @return method handle of the access mode of the array element VarHandle */
+	private static MethodHandle handle(Class<?> arrayClass, String accessMode) {
+		try {
+			Class<?> varHandleClass = Class.forName("java.lang.invoke.VarHandle");
+			Class<?> accessModeClass = Class.forName("java.lang.invoke.VarHandle$AccessMode");
+			Object varHandle = MethodHandles.class.getMethod("arrayElementVarHandle", Class.class).invoke(null, arrayClass);
+			Object mode = accessModeClass.getMethod("valueOf", String.class).invoke(null, accessMode);
+			Method toMethodHandle = varHandleClass.getMethod("toMethodHandle", accessModeClass);
+			return (MethodHandle) toMethodHandle.invoke(varHandle, mode);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Atomic array access requires Java 9 or later", e);
+		}
+	}
+
+	/** method handles only throw what the access mode throws, i.e. unchecked exceptions */
+	private static RuntimeException rethrow(Throwable t) {
+		if(t instanceof RuntimeException)
+			throw (RuntimeException) t;
+		if(t instanceof Error)
+			throw (Error) t;
+		throw new IllegalStateException(t);
+	}
+
+	///////////////////////////////
+	// int
+	///////////////////////////////
+
+	static int getVolatile(int[] a, int i) {
+		try { return (int) INT_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(int[] a, int i, int x) {
+		try { INT_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(int[] a, int i, int expect, int update) {
+		try { return (boolean) INT_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static int getAndSet(int[] a, int i, int x) {
+		try { return (int) INT_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static int getAndAdd(int[] a, int i, int delta) {
+		try { return (int) INT_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	///////////////////////////////
+	// long
+	///////////////////////////////
+
+	static long getVolatile(long[] a, int i) {
+		try { return (long) LONG_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(long[] a, int i, long x) {
+		try { LONG_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(long[] a, int i, long expect, long update) {
+		try { return (boolean) LONG_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static long getAndSet(long[] a, int i, long x) {
+		try { return (long) LONG_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static long getAndAdd(long[] a, int i, long delta) {
+		try { return (long) LONG_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	///////////////////////////////
+	// float
+	///////////////////////////////
+
+	static float getVolatile(float[] a, int i) {
+		try { return (float) FLOAT_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(float[] a, int i, float x) {
+		try { FLOAT_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(float[] a, int i, float expect, float update) {
+		try { return (boolean) FLOAT_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static float getAndSet(float[] a, int i, float x) {
+		try { return (float) FLOAT_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static float getAndAdd(float[] a, int i, float delta) {
+		try { return (float) FLOAT_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	///////////////////////////////
+	// double
+	///////////////////////////////
+
+	static double getVolatile(double[] a, int i) {
+		try { return (double) DOUBLE_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(double[] a, int i, double x) {
+		try { DOUBLE_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(double[] a, int i, double expect, double update) {
+		try { return (boolean) DOUBLE_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static double getAndSet(double[] a, int i, double x) {
+		try { return (double) DOUBLE_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static double getAndAdd(double[] a, int i, double delta) {
+		try { return (double) DOUBLE_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	///////////////////////////////
+	// short
+	///////////////////////////////
+
+	static short getVolatile(short[] a, int i) {
+		try { return (short) SHORT_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(short[] a, int i, short x) {
+		try { SHORT_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(short[] a, int i, short expect, short update) {
+		try { return (boolean) SHORT_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static short getAndSet(short[] a, int i, short x) {
+		try { return (short) SHORT_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static short getAndAdd(short[] a, int i, short delta) {
+		try { return (short) SHORT_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	///////////////////////////////
+	// char
+	///////////////////////////////
+
+	static char getVolatile(char[] a, int i) {
+		try { return (char) CHAR_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(char[] a, int i, char x) {
+		try { CHAR_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(char[] a, int i, char expect, char update) {
+		try { return (boolean) CHAR_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static char getAndSet(char[] a, int i, char x) {
+		try { return (char) CHAR_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static char getAndAdd(char[] a, int i, char delta) {
+		try { return (char) CHAR_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	///////////////////////////////
+	// byte
+	///////////////////////////////
+
+	static byte getVolatile(byte[] a, int i) {
+		try { return (byte) BYTE_GET.invokeExact(a, i); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static void setVolatile(byte[] a, int i, byte x) {
+		try { BYTE_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static boolean compareAndSet(byte[] a, int i, byte expect, byte update) {
+		try { return (boolean) BYTE_CAS.invokeExact(a, i, expect, update); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static byte getAndSet(byte[] a, int i, byte x) {
+		try { return (byte) BYTE_GET_AND_SET.invokeExact(a, i, x); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+	static byte getAndAdd(byte[] a, int i, byte delta) {
+		try { return (byte) BYTE_GET_AND_ADD.invokeExact(a, i, delta); } catch (Throwable t) { throw rethrow(t); }
+	}
+
+}
@@ -0,0 +1,682 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoBigSlice.java */
+package array;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Slice with {@code long} indices that spans a chunked array of arrays and
+ * can therefore hold more than 2^31 elements. All chunks except for the last
+ * have the same power of two length. Parallel streams split on chunk boundaries.
+ */
+public class BigSlice<T> implements Iterable<BigSlice.BigAccessor<T>>{
+
+	static final int DEFAULT_CHUNK_SHIFT = 22;
+
+	final BigAccessor<T> aa;
+	final long size;
+	final long beginIdx;
+
+	private BigSlice(BigAccessor<T> accessor, long beginIdx, long size) {
+		this.aa = accessor;
+		this.size = size;
+		this.beginIdx = beginIdx;
+	}
+
+	@Override
+	public Iterator<BigAccessor<T>> iterator() {
+		return new BigAccessorIterator<T>(beginIdx, beginIdx+size, aa);
+	}
+
+	@Override
+	public Spliterator<BigAccessor<T>> spliterator() {
+		return new BigAccessorSpliterator<T>(beginIdx, beginIdx+size-1, estimateReasonableSplitSize(size), aa);
+	}
+
+	public Stream<BigAccessor<T>> stream(boolean parallel) {
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+
+	public Stream<BigAccessor<T>> stream() {
+		return stream(false);
+	}
+
+	public Stream<BigAccessor<T>> parallelStream() {
+		return stream(true);
+	}
+
+	@Override
+	public void forEach(Consumer<? super BigAccessor<T>> action) {
+		Iterable.super.forEach(action);
+	}
+
+	public void forEachParallel(Consumer<? super BigAccessor<T>> action) {
+		parallelStream().forEach(action);
+	}
+
+	public BigSlice<T> copy() {
+		return new BigSlice<T>(aa.copy(),beginIdx,size);
+	}
+
+	public T getAt(long i){
+		return aa.get(i);
+	}
+
+	public void setAt(long i, T e){
+		aa.set(i, e);
+	}
+
+	public long length() {
+		return size;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	public long getBeginIdx() {
+		return beginIdx;
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	public static <T> BigSlice<T> get(T[][] chunks, long beginIdx, long length){
+		return new BigSlice<T>(new GenericBigAccessor<T>(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static <T> BigSlice<T> get(T[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Integer> get(int[][] chunks, long beginIdx, long length){
+		return new BigSlice<Integer>(new IntBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Integer> get(int[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Integer> allocateInt(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		int[][] chunks = new int[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new int[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+	public static BigSlice<Long> get(long[][] chunks, long beginIdx, long length){
+		return new BigSlice<Long>(new LongBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Long> get(long[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Long> allocateLong(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		long[][] chunks = new long[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new long[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+	public static BigSlice<Float> get(float[][] chunks, long beginIdx, long length){
+		return new BigSlice<Float>(new FloatBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Float> get(float[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Float> allocateFloat(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		float[][] chunks = new float[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new float[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+	public static BigSlice<Double> get(double[][] chunks, long beginIdx, long length){
+		return new BigSlice<Double>(new DoubleBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Double> get(double[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Double> allocateDouble(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		double[][] chunks = new double[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new double[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+	public static BigSlice<Short> get(short[][] chunks, long beginIdx, long length){
+		return new BigSlice<Short>(new ShortBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Short> get(short[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Short> allocateShort(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		short[][] chunks = new short[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new short[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+	public static BigSlice<Character> get(char[][] chunks, long beginIdx, long length){
+		return new BigSlice<Character>(new CharBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Character> get(char[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Character> allocateChar(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		char[][] chunks = new char[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new char[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+	public static BigSlice<Byte> get(byte[][] chunks, long beginIdx, long length){
+		return new BigSlice<Byte>(new ByteBigAccessor(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static BigSlice<Byte> get(byte[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static BigSlice<Byte> allocateByte(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		byte[][] chunks = new byte[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new byte[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+
+
+	static int numChunks(long length, long chunkLength) {
+		long numChunks = (length+chunkLength-1)/chunkLength;
+		if(length < 0 || numChunks > Integer.MAX_VALUE-8){
+			throw new IllegalArgumentException("Unsupported length " + length);
+		}
+		return (int)numChunks;
+	}
+
+	/**
+	 * @return log2 of the chunk length, for a single chunk of any length log2 of the next power of two
+	 * @throws IllegalArgumentException when chunks are not of the same power of two length (except for the last)
+	 */
+	static int chunkShift(Object[] chunks) {
+		if(chunks.length == 0)
+			return DEFAULT_CHUNK_SHIFT;
+		int chunkLength = Array.getLength(chunks[0]);
+		if(chunks.length == 1){
+			// the only chunk is also the last, index math only needs a power of two at least as large
+			return chunkLength <= 1 ? 0 : 32-Integer.numberOfLeadingZeros(chunkLength-1);
+		}
+		if(Integer.bitCount(chunkLength) != 1){
+			throw new IllegalArgumentException("Chunk length is not a power of two: " + chunkLength);
+		}
+		for(int k = 1; k < chunks.length; k++){
+			int len = Array.getLength(chunks[k]);
+			if(len != chunkLength && (k < chunks.length-1 || len > chunkLength)){
+				throw new IllegalArgumentException(String.format("Chunk %d has length %d, expected %d", k, len, chunkLength));
+			}
+		}
+		return Integer.numberOfTrailingZeros(chunkLength);
+	}
+
+	static long totalLength(Object[] chunks) {
+		long length = 0;
+		for(Object chunk: chunks){
+			length += Array.getLength(chunk);
+		}
+		return length;
+	}
+
+	///////////////////////////////
+	// Static Streaming
+	///////////////////////////////
+
+	static long estimateReasonableSplitSize(long length) {
+		final int tasksPerProcessor = 16;
+		final int concurrentLimit = Runtime.getRuntime().availableProcessors()*tasksPerProcessor;
+		final int minReasonable = 512;
+		return Math.max(minReasonable, Long.highestOneBit(length/concurrentLimit));
+	}
+
+	///////////////////////////////
+	// Accessors
+	///////////////////////////////
+
+	public static abstract class BigAccessor<T> implements Cloneable {
+		protected long index;
+		final int shift;
+		final int mask;
+
+		BigAccessor(int shift) {
+			this.shift = shift;
+			this.mask = (1<<shift)-1;
+		}
+
+		public abstract T get();
+
+		public abstract void set(T e);
+
+		protected abstract T get(long i);
+
+		protected abstract void set(long i, T e);
+
+		public final long getIndex(){ return index; }
+
+		public final void setIndex(long i){index = i; }
+
+		public final long getChunkLength(){ return 1L<<shift; }
+
+		/** only copies reference */
+		protected abstract BigAccessor<T> clone();
+
+		/** allocates new arrays */
+		protected abstract BigAccessor<T> copy();
+
+		@Override
+		public String toString() {
+			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
+		}
+	}
+
+
+	static class GenericBigAccessor<T> extends BigAccessor<T> {
+		T[][] chunks;
+		public GenericBigAccessor(T[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public T get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(T e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected T get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, T e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected GenericBigAccessor<T> clone() {
+			GenericBigAccessor<T> clon = new GenericBigAccessor<>(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected GenericBigAccessor<T> copy() {
+			T[][] copies = Arrays.copyOf(chunks, chunks.length);
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			GenericBigAccessor<T> cpy = new GenericBigAccessor<T>(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class IntBigAccessor extends BigAccessor<Integer> {
+		int[][] chunks;
+		public IntBigAccessor(int[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Integer get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Integer e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Integer get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Integer e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected IntBigAccessor clone() {
+			IntBigAccessor clon = new IntBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected IntBigAccessor copy() {
+			int[][] copies = new int[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			IntBigAccessor cpy = new IntBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class LongBigAccessor extends BigAccessor<Long> {
+		long[][] chunks;
+		public LongBigAccessor(long[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Long get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Long e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Long get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Long e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected LongBigAccessor clone() {
+			LongBigAccessor clon = new LongBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected LongBigAccessor copy() {
+			long[][] copies = new long[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			LongBigAccessor cpy = new LongBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class FloatBigAccessor extends BigAccessor<Float> {
+		float[][] chunks;
+		public FloatBigAccessor(float[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Float get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Float e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Float get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Float e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected FloatBigAccessor clone() {
+			FloatBigAccessor clon = new FloatBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected FloatBigAccessor copy() {
+			float[][] copies = new float[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			FloatBigAccessor cpy = new FloatBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class DoubleBigAccessor extends BigAccessor<Double> {
+		double[][] chunks;
+		public DoubleBigAccessor(double[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Double get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Double e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Double get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Double e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected DoubleBigAccessor clone() {
+			DoubleBigAccessor clon = new DoubleBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected DoubleBigAccessor copy() {
+			double[][] copies = new double[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			DoubleBigAccessor cpy = new DoubleBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class ShortBigAccessor extends BigAccessor<Short> {
+		short[][] chunks;
+		public ShortBigAccessor(short[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Short get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Short e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Short get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Short e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected ShortBigAccessor clone() {
+			ShortBigAccessor clon = new ShortBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected ShortBigAccessor copy() {
+			short[][] copies = new short[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			ShortBigAccessor cpy = new ShortBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class CharBigAccessor extends BigAccessor<Character> {
+		char[][] chunks;
+		public CharBigAccessor(char[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Character get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Character e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Character get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Character e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected CharBigAccessor clone() {
+			CharBigAccessor clon = new CharBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected CharBigAccessor copy() {
+			char[][] copies = new char[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			CharBigAccessor cpy = new CharBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	static class ByteBigAccessor extends BigAccessor<Byte> {
+		byte[][] chunks;
+		public ByteBigAccessor(byte[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public Byte get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(Byte e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected Byte get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, Byte e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected ByteBigAccessor clone() {
+			ByteBigAccessor clon = new ByteBigAccessor(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected ByteBigAccessor copy() {
+			byte[][] copies = new byte[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			ByteBigAccessor cpy = new ByteBigAccessor(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+
+
+	///////////////////////////////
+	// Iterator & Spliterator
+	///////////////////////////////
+
+	static class BigAccessorIterator<T> implements Iterator<BigAccessor<T>> {
+		long i;
+		final long endIndexExcl;
+		final BigAccessor<T> acc;
+
+		public BigAccessorIterator(long startIndex, long endIndexExcl, BigAccessor<T> acc) {
+			this.acc = acc.clone();
+			this.i = startIndex-1;
+			this.endIndexExcl = endIndexExcl;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return i+1 < endIndexExcl;
+		}
+		@Override
+		public BigAccessor<T> next() {
+			i++;
+			acc.setIndex(i);
+			return acc;
+		}
+		@Override
+		public void forEachRemaining(Consumer<? super BigAccessor<T>> action) {
+			i++;
+			for(; i < endIndexExcl; i++){
+				acc.setIndex(i);
+				action.accept(acc);
+			}
+		}
+	}
+
+	static class BigAccessorSpliterator<T> implements Spliterator<BigAccessor<T>> {
+
+		final BigAccessor<T> acc;
+		long endIndex;
+		final long minimumSplitSize;
+
+		/**
+		 * Constructs a new BigAccessorSpliterator for the specified index range
+		 * @param startIndex first index of the range (inclusive)
+		 * @param endIndex last index of the range (inclusive)
+		 * @param minSplitSize minimum split size for this spliterator (minimum number of elements in a split)
+		 */
+		BigAccessorSpliterator(long startIndex, long endIndex, long minSplitSize, BigAccessor<T> acc) {
+			this.acc = acc.clone();
+			this.acc.setIndex(startIndex);
+			this.endIndex = endIndex;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super BigAccessor<T>> action) {
+			if(acc.getIndex() <= endIndex){
+				long index = acc.getIndex();
+				action.accept(acc);
+				acc.setIndex(index+1);
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super BigAccessor<T>> action) {
+			long idx = acc.getIndex();
+			for(;idx <= endIndex; acc.setIndex(++idx)){
+				action.accept(acc);
+			}
+		}
+
+		@Override
+		public Spliterator<BigAccessor<T>> trySplit() {
+			long currentIdx = Math.min(acc.getIndex(), endIndex);
+			long midIdx = currentIdx + (endIndex-currentIdx)/2;
+			// split on the chunk boundary closest to the middle if it is within a quarter of the range
+			long chunkLength = acc.getChunkLength();
+			long chunkBoundary = (midIdx + chunkLength/2) & -chunkLength;
+			long quarter = (endIndex-currentIdx)/4;
+			if(chunkBoundary > currentIdx && chunkBoundary <= endIndex && Math.abs(chunkBoundary-midIdx) <= quarter){
+				midIdx = chunkBoundary;
+			}
+			if(midIdx > currentIdx+minimumSplitSize){
+				BigAccessorSpliterator<T> split = new BigAccessorSpliterator<T>(midIdx, endIndex, minimumSplitSize, acc);
+				endIndex = midIdx-1;
+				return split;
+			} else {
+				return null;
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return endIndex+1-acc.getIndex();
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | SIZED | CONCURRENT | SUBSIZED | IMMUTABLE;
+		}
+
+	}
+
+}
@@ -0,0 +1,269 @@
+package array;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Bit packed boolean slice of the specified number of bits backed by long words
+ * (bit i is bit i%64 of word i/64). Logical operations work a word at a time and
+ * run in parallel, bits beyond the size are kept 0.
+ * Can be used as a selection mask for native slices, see e.g.
+ * {@code DoubleSlice.mask(predicate)} and {@code DoubleSlice.filter(BitSlice)}.
+ */
+public class BitSlice {
+
+	final long[] words;
+	final int size;
+
+	private BitSlice(long[] words, int size) {
+		this.words = words;
+		this.size = size;
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	/** @return slice of the specified number of bits, all 0 */
+	public static BitSlice allocate(int size){
+		if(size < 0){
+			throw new IllegalArgumentException("Size has to be non negative, was " + size);
+		}
+		return new BitSlice(new long[numWords(size)], size);
+	}
+
+	/**
+	 * Slice on the first size bits of the words (shares the array). Bits beyond the size
+	 * are cleared.
+	 * @throws IllegalArgumentException when the words cannot hold size bits
+	 */
+	public static BitSlice get(long[] words, int size){
+		if(size < 0 || numWords(size) > words.length){
+			throw new IllegalArgumentException(String.format("%d words cannot hold %d bits", words.length, size));
+		}
+		BitSlice slice = new BitSlice(words, size);
+		slice.clearTail();
+		return slice;
+	}
+
+	static int numWords(int size) {
+		return (int)(((long)size+63) >>> 6);
+	}
+
+	private void clearTail() {
+		int numWords = numWords(size);
+		if((size & 63) != 0){
+			words[numWords-1] &= -1L >>> (64-(size & 63));
+		}
+		Arrays.fill(words, numWords, words.length, 0);
+	}
+
+	///////////////////////////////
+	// Bit Access
+	///////////////////////////////
+
+	public boolean get(int i) {
+		checkIndex(i);
+		return (words[i >>> 6] & (1L << i)) != 0;
+	}
+
+	public void set(int i) {
+		checkIndex(i);
+		words[i >>> 6] |= 1L << i;
+	}
+
+	public void set(int i, boolean value) {
+		if(value) set(i); else clear(i);
+	}
+
+	public void clear(int i) {
+		checkIndex(i);
+		words[i >>> 6] &= ~(1L << i);
+	}
+
+	public void flip(int i) {
+		checkIndex(i);
+		words[i >>> 6] ^= 1L << i;
+	}
+
+	private void checkIndex(int i) {
+		if(i < 0 || i >= size){
+			throw new IndexOutOfBoundsException(String.format("Bit %d not within [0,%d)", i, size));
+		}
+	}
+
+	/** @return index of the first set bit at or after from, or -1 when there is none */
+	public int nextSetBit(int from) {
+		if(from < 0){
+			throw new IndexOutOfBoundsException("Negative index " + from);
+		}
+		if(from >= size)
+			return -1;
+		int w = from >>> 6;
+		long word = words[w] & (-1L << from);
+		final int numWords = numWords(size);
+		while(true){
+			if(word != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			if(++w == numWords)
+				return -1;
+			word = words[w];
+		}
+	}
+
+	/** @return index of the first clear bit at or after from, or size when there is none */
+	public int nextClearBit(int from) {
+		if(from < 0){
+			throw new IndexOutOfBoundsException("Negative index " + from);
+		}
+		if(from >= size)
+			return size;
+		int w = from >>> 6;
+		long word = ~words[w] & (-1L << from);
+		final int numWords = numWords(size);
+		while(true){
+			if(word != 0)
+				return Math.min(size, (w << 6) + Long.numberOfTrailingZeros(word));
+			if(++w == numWords)
+				return size;
+			word = ~words[w];
+		}
+	}
+
+	/** passes the indices of the set bits to the action in ascending order */
+	public void forEachSetBit(IntConsumer action) {
+		final int numWords = numWords(size);
+		for(int w = 0; w < numWords; w++){
+			long word = words[w];
+			while(word != 0){
+				action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+				word &= word-1;
+			}
+		}
+	}
+
+	///////////////////////////////
+	// Parallel Operations
+	///////////////////////////////
+
+	/** @return number of set bits */
+	public long cardinality() {
+		final int numWords = numWords(size);
+		final int numBlocks = numBlocks(numWords);
+		final long[] counts = new long[numBlocks];
+		forEachWordBlock(numWords, numBlocks, (b, from, to)->{
+			long count = 0;
+			for(int w = from; w < to; w++){
+				count += Long.bitCount(words[w]);
+			}
+			counts[b] = count;
+		});
+		long total = 0;
+		for(long count: counts){
+			total += count;
+		}
+		return total;
+	}
+
+	/** this = this &amp; other, @return this */
+	public BitSlice and(BitSlice other) {
+		checkSize(other);
+		final long[] o = other.words;
+		forEachWordBlock(numWords(size), (b, from, to)->{
+			for(int w = from; w < to; w++) words[w] &= o[w];
+		});
+		return this;
+	}
+
+	/** this = this | other, @return this */
+	public BitSlice or(BitSlice other) {
+		checkSize(other);
+		final long[] o = other.words;
+		forEachWordBlock(numWords(size), (b, from, to)->{
+			for(int w = from; w < to; w++) words[w] |= o[w];
+		});
+		return this;
+	}
+
+	/** this = this ^ other, @return this */
+	public BitSlice xor(BitSlice other) {
+		checkSize(other);
+		final long[] o = other.words;
+		forEachWordBlock(numWords(size), (b, from, to)->{
+			for(int w = from; w < to; w++) words[w] ^= o[w];
+		});
+		return this;
+	}
+
+	/** this = this &amp; ~other, @return this */
+	public BitSlice andNot(BitSlice other) {
+		checkSize(other);
+		final long[] o = other.words;
+		forEachWordBlock(numWords(size), (b, from, to)->{
+			for(int w = from; w < to; w++) words[w] &= ~o[w];
+		});
+		return this;
+	}
+
+	/** flips all bits, @return this */
+	public BitSlice not() {
+		forEachWordBlock(numWords(size), (b, from, to)->{
+			for(int w = from; w < to; w++) words[w] = ~words[w];
+		});
+		clearTail();
+		return this;
+	}
+
+	private void checkSize(BitSlice other) {
+		if(other.size != size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", size, other.size));
+		}
+	}
+
+	@FunctionalInterface
+	static interface WordBlockConsumer {
+		public void accept(int block, int fromWord, int toWord);
+	}
+
+	static int numBlocks(int numWords) {
+		return Natives.numBlocks(ForkJoinPool.commonPool(), numWords, 1<<10);
+	}
+
+	static void forEachWordBlock(int numWords, WordBlockConsumer action) {
+		forEachWordBlock(numWords, numBlocks(numWords), action);
+	}
+
+	static void forEachWordBlock(int numWords, int numBlocks, WordBlockConsumer action) {
+		final int blockSize = (numWords+numBlocks-1)/numBlocks;
+		Natives.forEachBlock(ForkJoinPool.commonPool(), numBlocks, b->{
+			action.accept(b, b*blockSize, Math.min(numWords, b*blockSize+blockSize));
+		});
+	}
+
+	///////////////////////////////
+	// Misc
+	///////////////////////////////
+
+	public BitSlice copy() {
+		return new BitSlice(Arrays.copyOf(words, numWords(size)), size);
+	}
+
+	public long[] getWords() {
+		return words;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int length() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] %d bits", getClass().getSimpleName(), size);
+	}
+
+}
@@ -0,0 +1,160 @@
+package array;
+
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Bloom filter for int or long values backed by an AtomicLongArray of bits, for membership
+ * pre-filtering without boxing. The bit positions are derived from one 64 bit hash
+ * by double hashing. Ints are hashed like the equal long value.
+ * Inserting from several threads is safe: bits are set by compare and set,
+ * so parallel builders share a single bit array instead of merging copies.
+ */
+public class BloomFilter implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final AtomicLongArray bits;
+	private final long numBits;
+	private final int numHashes;
+
+	/**
+	 * Creates a filter that is sized for the expected number of insertions and
+	 * false positive probability.
+	 * @throws IllegalArgumentException when expectedInsertions is not positive,
+	 * fpp is not within (0, 1) or the filter would be too large
+	 */
+	public BloomFilter(long expectedInsertions, double fpp) {
+		if(expectedInsertions < 1){
+			throw new IllegalArgumentException("Expected insertions have to be positive, was " + expectedInsertions);
+		}
+		if(!(fpp > 0 && fpp < 1)){
+			throw new IllegalArgumentException("False positive probability has to be within (0,1), was " + fpp);
+		}
+		double ln2 = Math.log(2);
+		double optimalBits = -expectedInsertions*Math.log(fpp)/(ln2*ln2);
+		if(optimalBits > (Integer.MAX_VALUE-8)*64.0){
+			throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " insertions");
+		}
+		int numWords = (int)Math.max(1, Math.ceil(optimalBits/64));
+		this.bits = new AtomicLongArray(numWords);
+		this.numBits = numWords*64L;
+		this.numHashes = (int)Math.max(1, Math.round(numBits/(double)expectedInsertions*ln2));
+	}
+
+	///////////////////////////////
+	// Building
+	///////////////////////////////
+
+	/** builds a filter containing all values of the slice in parallel */
+	public static BloomFilter of(IntSlice slice, double fpp) {
+		final int[] array = slice.array;
+		return of(i->array[i], slice.beginIdx, slice.size, fpp);
+	}
+
+	/** builds a filter containing all values of the slice in parallel */
+	public static BloomFilter of(LongSlice slice, double fpp) {
+		final long[] array = slice.array;
+		return of(i->array[i], slice.beginIdx, slice.size, fpp);
+	}
+
+	/** inserts the values at the indices [begin, begin+n) in parallel */
+	private static BloomFilter of(IntToLongFunction values, int begin, int n, double fpp) {
+		final BloomFilter filter = new BloomFilter(Math.max(1, n), fpp);
+		final int blockSize = Slice.estimateReasonableSplitSize(n);
+		Natives.forEachBlock(ForkJoinPool.commonPool(), (n+blockSize-1)/blockSize, b->{
+			int hi = Math.min(begin+n, begin+b*blockSize+blockSize);
+			for(int i = begin+b*blockSize; i < hi; i++){
+				filter.put(values.applyAsLong(i));
+			}
+		});
+		return filter;
+	}
+
+	/** builds a filter containing the integral values of the slice in parallel using its spliterator */
+	public static BloomFilter of(Slice<? extends Number> slice, double fpp) {
+		final BloomFilter filter = new BloomFilter(Math.max(1, slice.size()), fpp);
+		slice.forEachParallel(acc->filter.put(acc.get().longValue()));
+		return filter;
+	}
+
+	public void put(int value) {
+		put((long)value);
+	}
+
+	/** adds the value, can be called concurrently */
+	public void put(long value) {
+		long hash1 = Natives.mix64(value);
+		long hash2 = Natives.mix64(hash1) | 1;
+		for(int i = 0; i < numHashes; i++){
+			long bit = Long.remainderUnsigned(hash1 + i*hash2, numBits);
+			int word = (int)(bit >>> 6);
+			long mask = 1L << bit;
+			long current = bits.get(word);
+			while((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)){
+				current = bits.get(word);
+			}
+		}
+	}
+
+	public boolean mightContain(int value) {
+		return mightContain((long)value);
+	}
+
+	/** @return false when the value has certainly not been added */
+	public boolean mightContain(long value) {
+		long hash1 = Natives.mix64(value);
+		long hash2 = Natives.mix64(hash1) | 1;
+		for(int i = 0; i < numHashes; i++){
+			long bit = Long.remainderUnsigned(hash1 + i*hash2, numBits);
+			if((bits.get((int)(bit >>> 6)) & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Adds all values of the other filter to this one (union).
+	 * @return this
+	 * @throws IllegalArgumentException when filters differ in size or number of hashes
+	 */
+	public BloomFilter merge(BloomFilter other) {
+		if(other.numBits != numBits || other.numHashes != numHashes){
+			throw new IllegalArgumentException("Cannot merge filters of different configuration");
+		}
+		for(int i = 0; i < bits.length(); i++){
+			long word = other.bits.get(i);
+			if(word != 0)
+				bits.accumulateAndGet(i, word, (a,b)->a|b);
+		}
+		return this;
+	}
+
+	///////////////////////////////
+	// Queries
+	///////////////////////////////
+
+	/** @return false positive probability for the current fill rate */
+	public double expectedFpp() {
+		long setBits = 0;
+		for(int i = 0; i < bits.length(); i++){
+			setBits += Long.bitCount(bits.get(i));
+		}
+		return Math.pow(setBits/(double)numBits, numHashes);
+	}
+
+	public long getNumBits() {
+		return numBits;
+	}
+
+	public int getNumHashes() {
+		return numHashes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] bits=%d, hashes=%d", getClass().getSimpleName(), numBits, numHashes);
+	}
+
+}
@@ -0,0 +1,444 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoNDSlice.java */
+package array;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * N-dimensional view on a native array, described by an offset and a shape
+ * and stride per dimension. Rows, columns, planes and ranges are views on the
+ * same array and are created without copying. Parallel traversal splits the
+ * elements in row major order, preferably at the beginning of an innermost row.
+ * The variants for all native types are generated by {@link generics.CodeGen}.
+ */
+public class ByteNDSlice {
+
+	final byte[] array;
+	final int offset;
+	final int[] shape;
+	final int[] strides;
+	final int size;
+
+	ByteNDSlice(byte[] array, int offset, int[] shape, int[] strides) {
+		if(shape.length < 1 || shape.length != strides.length){
+			throw new IllegalArgumentException("Invalid shape " + Arrays.toString(shape) + " with strides " + Arrays.toString(strides));
+		}
+		this.array = array;
+		this.offset = offset;
+		this.shape = shape;
+		this.strides = strides;
+		// product of extents in long, capped above the int range so that it cannot overflow
+		long n = 1;
+		for(int s: shape){
+			if(s < 0){
+				throw new IllegalArgumentException("Negative extent in shape " + Arrays.toString(shape));
+			}
+			n = Math.min(n*s, Integer.MAX_VALUE+1L);
+		}
+		if(n > Integer.MAX_VALUE){
+			throw new IllegalArgumentException("Too many elements for shape " + Arrays.toString(shape));
+		}
+		this.size = (int)n;
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	/** row major view on the array beginning at the specified offset */
+	public static ByteNDSlice get(byte[] array, int offset, int[] shape){
+		int[] strides = new int[shape.length];
+		long n = 1;
+		for(int d = shape.length-1; d >= 0; d--){
+			strides[d] = (int)n;
+			n *= shape[d];
+		}
+		if(offset < 0 || offset+n > array.length){
+			throw new IllegalArgumentException(String.format("Shape %s at offset %d exceeds array of length %d", Arrays.toString(shape), offset, array.length));
+		}
+		return new ByteNDSlice(array, offset, shape.clone(), strides);
+	}
+
+	/** row major view on the array */
+	public static ByteNDSlice get(byte[] array, int... shape){
+		return get(array, 0, shape);
+	}
+
+	/** row major view on the range of the slice */
+	public static ByteNDSlice get(ByteSlice slice, int... shape){
+		ByteNDSlice nd = get(slice.array, slice.beginIdx, shape);
+		if(nd.size > slice.size){
+			throw new IllegalArgumentException(String.format("Shape %s exceeds slice of size %d", Arrays.toString(shape), slice.size));
+		}
+		return nd;
+	}
+
+	///////////////////////////////
+	// Shape
+	///////////////////////////////
+
+	public int rank() {
+		return shape.length;
+	}
+
+	public int shape(int dim) {
+		return shape[dim];
+	}
+
+	public int stride(int dim) {
+		return strides[dim];
+	}
+
+	public int[] getShape() {
+		return shape.clone();
+	}
+
+	public int[] getStrides() {
+		return strides.clone();
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** @return true when the elements are laid out in row major order without gaps */
+	public boolean isContiguous() {
+		int expected = 1;
+		for(int d = shape.length-1; d >= 0; d--){
+			if(shape[d] != 1 && strides[d] != expected)
+				return false;
+			expected *= shape[d];
+		}
+		return true;
+	}
+
+	///////////////////////////////
+	// Element access
+	///////////////////////////////
+
+	/** @return index into the underlying array of the element at the specified position */
+	public int indexOf(int... pos) {
+		if(pos.length != shape.length){
+			throw new IllegalArgumentException(String.format("Expected %d indices, got %d", shape.length, pos.length));
+		}
+		int idx = offset;
+		for(int d = 0; d < pos.length; d++){
+			idx += checkIndex(d, pos[d])*strides[d];
+		}
+		return idx;
+	}
+
+	private int checkIndex(int dim, int i) {
+		if(i < 0 || i >= shape[dim]){
+			throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for dimension %d of extent %d", i, dim, shape[dim]));
+		}
+		return i;
+	}
+
+	private void checkRank2() {
+		if(shape.length != 2){
+			throw new IllegalArgumentException(String.format("Expected %d indices, got 2", shape.length));
+		}
+	}
+
+	public byte get(int... pos) {
+		return array[indexOf(pos)];
+	}
+
+	/** @throws IllegalArgumentException when the rank is not 2 */
+	public byte get(int i, int j) {
+		checkRank2();
+		return array[offset+checkIndex(0, i)*strides[0]+checkIndex(1, j)*strides[1]];
+	}
+
+	public void set(byte value, int... pos) {
+		array[indexOf(pos)] = value;
+	}
+
+	/** @throws IllegalArgumentException when the rank is not 2 */
+	public void set(byte value, int i, int j) {
+		checkRank2();
+		array[offset+checkIndex(0, i)*strides[0]+checkIndex(1, j)*strides[1]] = value;
+	}
+
+	///////////////////////////////
+	// Views
+	///////////////////////////////
+
+	/**
+	 * View with the specified dimension fixed at the specified index, which has one
+	 * dimension less. E.g. {@code slice(0,i)} of a matrix is row i, {@code slice(1,j)}
+	 * is column j and {@code slice(0,k)} of a volume is plane k.
+	 */
+	public ByteNDSlice slice(int dim, int index) {
+		if(shape.length < 2){
+			throw new IllegalArgumentException("Cannot reduce a 1-dimensional slice, use get instead");
+		}
+		int[] newShape = new int[shape.length-1];
+		int[] newStrides = new int[shape.length-1];
+		for(int d = 0, n = 0; d < shape.length; d++){
+			if(d != dim){
+				newShape[n] = shape[d];
+				newStrides[n++] = strides[d];
+			}
+		}
+		return new ByteNDSlice(array, offset+checkIndex(dim, index)*strides[dim], newShape, newStrides);
+	}
+
+	public ByteNDSlice row(int i) {
+		return slice(0, i);
+	}
+
+	public ByteNDSlice column(int j) {
+		return slice(1, j);
+	}
+
+	/** View on the range [from, to) along the specified dimension */
+	public ByteNDSlice range(int dim, int from, int to) {
+		if(from < 0 || to > shape[dim] || from > to){
+			throw new IndexOutOfBoundsException(String.format("Range [%d,%d) not within [0,%d) of dimension %d", from, to, shape[dim], dim));
+		}
+		int[] newShape = shape.clone();
+		newShape[dim] = to-from;
+		return new ByteNDSlice(array, offset+from*strides[dim], newShape, strides.clone());
+	}
+
+	/** View with every step-th element along the specified dimension */
+	public ByteNDSlice step(int dim, int step) {
+		if(step < 1){
+			throw new IllegalArgumentException("Step has to be positive, was " + step);
+		}
+		int[] newShape = shape.clone();
+		int[] newStrides = strides.clone();
+		newShape[dim] = (shape[dim]+step-1)/step;
+		newStrides[dim] *= step;
+		return new ByteNDSlice(array, offset, newShape, newStrides);
+	}
+
+	/** View with the two specified dimensions swapped */
+	public ByteNDSlice transpose(int dim0, int dim1) {
+		int[] newShape = shape.clone();
+		int[] newStrides = strides.clone();
+		newShape[dim0] = shape[dim1]; newShape[dim1] = shape[dim0];
+		newStrides[dim0] = strides[dim1]; newStrides[dim1] = strides[dim0];
+		return new ByteNDSlice(array, offset, newShape, newStrides);
+	}
+
+	/**
+	 * View with the last two dimensions swapped
+	 * @throws IllegalArgumentException when the rank is smaller than 2
+	 */
+	public ByteNDSlice transpose() {
+		if(shape.length < 2){
+			throw new IllegalArgumentException("Cannot transpose slice of rank " + shape.length);
+		}
+		return transpose(shape.length-2, shape.length-1);
+	}
+
+	/**
+	 * @return slice on the same array when this view is contiguous
+	 * @throws IllegalStateException when not contiguous
+	 */
+	public ByteSlice flat() {
+		if(!isContiguous()){
+			throw new IllegalStateException("View is not contiguous");
+		}
+		return ByteSlice.get(array, offset, size);
+	}
+
+	/** copies the elements of this view into a new row major array */
+	public ByteNDSlice copy() {
+		byte[] dst = new byte[size];
+		int[] i = {0};
+		forEach(acc->dst[i[0]++] = acc.array[acc.index]);
+		return get(dst, 0, shape);
+	}
+
+	///////////////////////////////
+	// Traversal
+	///////////////////////////////
+
+	public Spliterator<Accessor> spliterator() {
+		return new NDSpliterator(this, 0, size, Slice.estimateReasonableSplitSize(size));
+	}
+
+	public Stream<Accessor> stream(boolean parallel) {
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+
+	public Stream<Accessor> stream() {
+		return stream(false);
+	}
+
+	public Stream<Accessor> parallelStream() {
+		return stream(true);
+	}
+
+	public void forEach(Consumer<? super Accessor> action) {
+		spliterator().forEachRemaining(action);
+	}
+
+	public void forEachParallel(Consumer<? super Accessor> action) {
+		parallelStream().forEach(action);
+	}
+
+	public void forEachValue(ByteSlice.ValueConsumer action) {
+		forEach(acc->action.accept(acc.array[acc.index]));
+	}
+
+	public void forEachValueParallel(ByteSlice.ValueConsumer action) {
+		forEachParallel(acc->action.accept(acc.array[acc.index]));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] shape %s strides %s offset %d", getClass().getSimpleName(), Arrays.toString(shape), Arrays.toString(strides), offset);
+	}
+
+	///////////////////////////////
+	// Accessor & Spliterator
+	///////////////////////////////
+
+	public static final class Accessor {
+		final byte[] array;
+		final int[] pos;
+		int index;
+
+		Accessor(byte[] array, int rank) {
+			this.array = array;
+			this.pos = new int[rank];
+		}
+
+		public byte getByte() {return array[index];}
+
+		public void setByte(byte e) {array[index] = e;}
+
+		/** @return position of the current element in the specified dimension */
+		public int getPosition(int dim) {return pos[dim];}
+
+		/** @return index into the underlying array of the current element */
+		public int getIndex() {return index;}
+
+		@Override
+		public String toString() {
+			return String.format("[%s] at %s", getClass().getSimpleName(), Arrays.toString(pos));
+		}
+	}
+
+	static final class NDSpliterator implements Spliterator<Accessor> {
+
+		final int[] shape;
+		final int[] strides;
+		final int offset;
+		final int minimumSplitSize;
+		final Accessor acc;
+		/** row major number of the current element */
+		int next;
+		int end;
+
+		/**
+		 * Constructs a new NDSpliterator for the elements [begin, end) in row major order
+		 * @param minSplitSize minimum number of elements in a split
+		 */
+		NDSpliterator(ByteNDSlice nd, int begin, int end, int minSplitSize) {
+			this(nd.array, nd.shape, nd.strides, nd.offset, begin, end, Math.max(1, minSplitSize));
+		}
+
+		private NDSpliterator(byte[] array, int[] shape, int[] strides, int offset, int begin, int end, int minSplitSize) {
+			this.shape = shape;
+			this.strides = strides;
+			this.offset = offset;
+			this.minimumSplitSize = minSplitSize;
+			this.acc = new Accessor(array, shape.length);
+			this.next = begin;
+			this.end = end;
+			if(begin < end){
+				// position of the element number begin
+				int index = offset;
+				for(int d = shape.length-1, n = begin; d >= 0; d--){
+					acc.pos[d] = n % shape[d];
+					n /= shape[d];
+					index += acc.pos[d]*strides[d];
+				}
+				acc.index = index;
+			}
+		}
+
+		private void advance() {
+			final int[] pos = acc.pos;
+			next++;
+			for(int d = pos.length-1; d > 0; d--){
+				acc.index += strides[d];
+				if(++pos[d] < shape[d])
+					return;
+				acc.index -= shape[d]*strides[d];
+				pos[d] = 0;
+			}
+			acc.index += strides[0];
+			pos[0]++;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Accessor> action) {
+			if(next < end){
+				action.accept(acc);
+				advance();
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Accessor> action) {
+			final int last = shape.length-1;
+			final int[] pos = acc.pos;
+			final int n = shape[last];
+			final int stride = strides[last];
+			while(next < end){
+				// tight loop over the rest of the innermost row
+				int count = Math.min(n-pos[last], end-next);
+				for(int k = 1; k < count; k++, pos[last]++, acc.index += stride){
+					action.accept(acc);
+				}
+				action.accept(acc);
+				next += count-1;
+				advance();
+			}
+		}
+
+		@Override
+		public Spliterator<Accessor> trySplit() {
+			int remaining = end-next;
+			int mid = next + remaining/2;
+			if(mid-next < minimumSplitSize)
+				return null;
+			// prefer the beginning of an innermost row within a quarter of the range
+			int rowStart = mid - mid % shape[shape.length-1];
+			if(rowStart > next && mid-rowStart <= remaining/4){
+				mid = rowStart;
+			}
+			NDSpliterator split = new NDSpliterator(acc.array, shape, strides, offset, mid, end, minimumSplitSize);
+			end = mid;
+			return split;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end-next;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | SIZED | CONCURRENT | SUBSIZED | IMMUTABLE;
+		}
+	}
+
+}
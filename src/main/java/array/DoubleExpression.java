@@ -0,0 +1,299 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoNativeExpression.java */
+package array;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Lazy element wise expression over native slices, e.g.
+ * {@code slice.map(f).zip(other, g).sum()}.
+ * Building an expression does not touch any data. A terminal operation evaluates
+ * the whole expression tree in a single parallel pass, in which each fork join leaf
+ * evaluates its range block by block into small scratch buffers, so that no
+ * intermediate arrays of the size of the slices are materialized.
+ * The variants for all native types are generated by {@link generics.CodeGen}.
+ */
+public abstract class DoubleExpression {
+
+	static final int BLOCK_SIZE = 1024;
+
+	final int size;
+	/** number of scratch buffers needed for evaluation */
+	final int depth;
+
+	DoubleExpression(int size, int depth) {
+		this.size = size;
+		this.depth = depth;
+	}
+
+	/**
+	 * Evaluates the elements [from, from+n) of this expression into out[0, n)
+	 * @param scratch buffers for intermediate results, this node may use scratch[level] and above
+	 */
+	abstract void eval(int from, int n, double[] out, double[][] scratch, int level);
+
+	public int size() {
+		return size;
+	}
+
+	///////////////////////////////
+	// Building
+	///////////////////////////////
+
+	public static DoubleExpression of(DoubleSlice slice) {
+		return new SourceNode(slice.array, slice.beginIdx, slice.size);
+	}
+
+	public DoubleExpression map(UnaryOp op) {
+		return new MapNode(this, op);
+	}
+
+	/** @throws IllegalArgumentException when sizes differ */
+	public DoubleExpression zip(DoubleExpression other, BinaryOp op) {
+		if(other.size != size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", size, other.size));
+		}
+		return new ZipNode(this, other, op);
+	}
+
+	/** @throws IllegalArgumentException when sizes differ */
+	public DoubleExpression zip(DoubleSlice other, BinaryOp op) {
+		return zip(of(other), op);
+	}
+
+	///////////////////////////////
+	// Terminal Operations
+	///////////////////////////////
+
+	public double sum() {
+		return evaluate(EvalTask.SUM, null, 0, null).sum;
+	}
+
+	/**
+	 * Values are ordered as by Arrays.sort (NaN greatest), like {@code min()} of the slices.
+	 * @throws NoSuchElementException when expression is empty
+	 */
+	public double min() {
+		return checkNonEmpty(evaluate(EvalTask.MIN, null, 0, null)).extreme;
+	}
+
+	/**
+	 * Values are ordered as by Arrays.sort (NaN greatest), like {@code max()} of the slices.
+	 * @throws NoSuchElementException when expression is empty
+	 */
+	public double max() {
+		return checkNonEmpty(evaluate(EvalTask.MAX, null, 0, null)).extreme;
+	}
+
+	public double[] toArray() {
+		double[] result = new double[size];
+		evaluate(EvalTask.WRITE, result, 0, null);
+		return result;
+	}
+
+	/**
+	 * Writes the values of this expression into the target slice, which may be one of the
+	 * source slices of the expression as long as it is not used with a shifted range.
+	 * @throws IllegalArgumentException when sizes differ
+	 */
+	public void writeTo(DoubleSlice target) {
+		if(target.size != size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", size, target.size));
+		}
+		evaluate(EvalTask.WRITE, target.array, target.beginIdx, null);
+	}
+
+	/** passes the values of this expression to the action in parallel and in no particular order */
+	public void forEachValueParallel(DoubleSlice.ValueConsumer action) {
+		evaluate(EvalTask.CONSUME, null, 0, action);
+	}
+
+	private EvalTask evaluate(int op, double[] target, int targetOffset, DoubleSlice.ValueConsumer action) {
+		EvalTask task = new EvalTask(this, op, 0, size, Slice.estimateReasonableSplitSize(size), target, targetOffset, action);
+		ForkJoinPool.commonPool().invoke(task);
+		return task;
+	}
+
+	private static EvalTask checkNonEmpty(EvalTask task) {
+		if(!task.hasValue){
+			throw new NoSuchElementException("Expression is empty");
+		}
+		return task;
+	}
+
+	///////////////////////////////
+	// Operators
+	///////////////////////////////
+
+	@FunctionalInterface
+	public static interface UnaryOp {
+		public double apply(double x);
+	}
+
+	@FunctionalInterface
+	public static interface BinaryOp {
+		public double apply(double a, double b);
+	}
+
+	///////////////////////////////
+	// Nodes
+	///////////////////////////////
+
+	static final class SourceNode extends DoubleExpression {
+		final double[] array;
+		final int offset;
+
+		SourceNode(double[] array, int offset, int size) {
+			super(size, 0);
+			this.array = array;
+			this.offset = offset;
+		}
+
+		@Override
+		void eval(int from, int n, double[] out, double[][] scratch, int level) {
+			System.arraycopy(array, offset+from, out, 0, n);
+		}
+	}
+
+	static final class MapNode extends DoubleExpression {
+		final DoubleExpression child;
+		final UnaryOp op;
+
+		MapNode(DoubleExpression child, UnaryOp op) {
+			super(child.size, child.depth);
+			this.child = child;
+			this.op = op;
+		}
+
+		@Override
+		void eval(int from, int n, double[] out, double[][] scratch, int level) {
+			child.eval(from, n, out, scratch, level);
+			for(int i = 0; i < n; i++){
+				out[i] = op.apply(out[i]);
+			}
+		}
+	}
+
+	static final class ZipNode extends DoubleExpression {
+		final DoubleExpression left;
+		final DoubleExpression right;
+		final BinaryOp op;
+
+		ZipNode(DoubleExpression left, DoubleExpression right, BinaryOp op) {
+			super(left.size, Math.max(left.depth, right.depth+1));
+			this.left = left;
+			this.right = right;
+			this.op = op;
+		}
+
+		@Override
+		void eval(int from, int n, double[] out, double[][] scratch, int level) {
+			left.eval(from, n, out, scratch, level);
+			double[] rightOut = scratch[level];
+			right.eval(from, n, rightOut, scratch, level+1);
+			for(int i = 0; i < n; i++){
+				out[i] = op.apply(out[i], rightOut[i]);
+			}
+		}
+	}
+
+	///////////////////////////////
+	// Evaluation Task
+	///////////////////////////////
+
+	static final class EvalTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		static final int SUM=0, MIN=1, MAX=2, WRITE=3, CONSUME=4;
+
+		final DoubleExpression expr;
+		final int op;
+		final int from;
+		final int to;
+		final int minimumSplitSize;
+		final double[] target;
+		final int targetOffset;
+		final DoubleSlice.ValueConsumer action;
+
+		double sum;
+		double extreme;
+		boolean hasValue;
+
+		EvalTask(DoubleExpression expr, int op, int from, int to, int minSplitSize,
+				double[] target, int targetOffset, DoubleSlice.ValueConsumer action)
+		{
+			this.expr = expr;
+			this.op = op;
+			this.from = from;
+			this.to = to;
+			this.minimumSplitSize = minSplitSize;
+			this.target = target;
+			this.targetOffset = targetOffset;
+			this.action = action;
+		}
+
+		private EvalTask split(int from, int to) {
+			return new EvalTask(expr, op, from, to, minimumSplitSize, target, targetOffset, action);
+		}
+
+		@Override
+		protected void compute() {
+			int midIdx = from + (to-from)/2;
+			if(midIdx > from+minimumSplitSize){
+				EvalTask left = split(from, midIdx);
+				EvalTask right = split(midIdx, to);
+				invokeAll(left, right);
+				sum = left.sum + right.sum;
+				if(left.hasValue && right.hasValue){
+					boolean rightLess = Natives.less(right.extreme, left.extreme);
+					boolean leftLess = Natives.less(left.extreme, right.extreme);
+					extreme = (op == MIN ? rightLess : leftLess) ? right.extreme:left.extreme;
+				} else {
+					extreme = left.hasValue ? left.extreme:right.extreme;
+				}
+				hasValue = left.hasValue || right.hasValue;
+			} else {
+				computeLeaf();
+			}
+		}
+
+		private void computeLeaf() {
+			final int bufferSize = Math.min(BLOCK_SIZE, to-from);
+			final double[] buffer = new double[bufferSize];
+			final double[][] scratch = new double[expr.depth][bufferSize];
+			for(int i = from; i < to; i += BLOCK_SIZE){
+				final int n = Math.min(BLOCK_SIZE, to-i);
+				expr.eval(i, n, buffer, scratch, 0);
+				switch (op) {
+				case SUM:
+					for(int k = 0; k < n; k++){
+						sum += buffer[k];
+					}
+					break;
+				case MIN:
+				case MAX:
+					if(!hasValue){
+						extreme = buffer[0];
+						hasValue = true;
+					}
+					for(int k = 0; k < n; k++){
+						if(op == MIN ? Natives.less(buffer[k], extreme) : Natives.less(extreme, buffer[k])){
+							extreme = buffer[k];
+						}
+					}
+					break;
+				case WRITE:
+					System.arraycopy(buffer, 0, target, targetOffset+i, n);
+					break;
+				case CONSUME:
+					for(int k = 0; k < n; k++){
+						action.accept(buffer[k]);
+					}
+					break;
+				}
+			}
+		}
+	}
+
+}
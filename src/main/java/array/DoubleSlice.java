@@ -0,0 +1,1585 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoNativeSlice.java */
+package array;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Slice on a native array. In contrast to {@link Slice} the elements are accessed
+ * through primitive getters and setters so that no boxing occurs during traversal.
+ * The variants for all native types are generated by {@link generics.CodeGen}.
+ */
+public class DoubleSlice implements Iterable<DoubleSlice.Accessor> {
+
+	final double[] array;
+	final int size;
+	final int beginIdx;
+
+	private DoubleSlice(double[] array, int beginIdx, int size) {
+		this.array = array;
+		this.size = size;
+		this.beginIdx = beginIdx;
+	}
+
+	@Override
+	public Iterator<Accessor> iterator() {
+		return new AccessorIterator(beginIdx, beginIdx+size, new Accessor(array));
+	}
+
+	@Override
+	public Spliterator<Accessor> spliterator() {
+		return new AccessorSpliterator(beginIdx, beginIdx+size-1, Slice.estimateReasonableSplitSize(size), new Accessor(array));
+	}
+
+	public Stream<Accessor> stream(boolean parallel) {
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+
+	public Stream<Accessor> stream() {
+		return stream(false);
+	}
+
+	public Stream<Accessor> parallelStream() {
+		return stream(true);
+	}
+
+	@Override
+	public void forEach(Consumer<? super Accessor> action) {
+		spliterator().forEachRemaining(action);
+	}
+
+	public void forEachParallel(Consumer<? super Accessor> action) {
+		parallelStream().forEach(action);
+	}
+
+	public void forEachValue(ValueConsumer action) {
+		final int endIdx = beginIdx+size;
+		for(int i = beginIdx; i < endIdx; i++){
+			action.accept(array[i]);
+		}
+	}
+
+	public void forEachValueParallel(ValueConsumer action) {
+		parallelStream().forEach(acc->action.accept(acc.getDouble()));
+	}
+
+	/**
+	 * Hands the whole range of this slice to the specified action as a single chunk.
+	 * @param action receives the backing array and the range [from, to)
+	 */
+	public void forEachChunk(ChunkConsumer action) {
+		action.accept(array, beginIdx, beginIdx+size);
+	}
+
+	/**
+	 * Splits the range of this slice into chunks that are processed in parallel.
+	 * Each chunk is handed to the specified action as backing array and range [from, to),
+	 * which allows the action to run a tight loop over the raw array.
+	 * @param action receives the backing array and the range of a chunk
+	 * @param minChunkSize minimum number of elements in a chunk
+	 */
+	public void forEachChunkParallel(ChunkConsumer action, int minChunkSize) {
+		ForkJoinPool.commonPool().invoke(new ChunkTask(array, beginIdx, beginIdx+size, minChunkSize, action));
+	}
+
+	public void forEachChunkParallel(ChunkConsumer action) {
+		forEachChunkParallel(action, Slice.estimateReasonableSplitSize(size));
+	}
+
+	///////////////////////////////
+	// Reductions
+	///////////////////////////////
+
+	public double sum() {
+		return reduce(ReductionTask.SUM, null).sum;
+	}
+
+	/**
+	 * Approximate mergeable quantile sketch of this slice, built in parallel with one
+	 * sketch per spliterator split that are merged on join.
+	 * @param k accuracy parameter of the sketch, see {@link QuantileSketch}
+	 */
+	public QuantileSketch quantileSketch(int k) {
+		return stream(true).collect(
+				()->new QuantileSketch(k),
+				(sketch, acc)->sketch.accept(acc.getDouble()),
+				QuantileSketch::merge);
+	}
+
+	/**
+	 * Parallel compensated (Neumaier) sum whose result only depends on the values,
+	 * not on the number of cores or on scheduling. The slice is split into blocks of
+	 * fixed size that are combined in a fixed binary tree, so results are bit identical
+	 * across machines. Integral values are summed as double.
+	 */
+	public double sumReproducible() {
+		CompensatedSumTask task = new CompensatedSumTask(array, beginIdx, beginIdx+size);
+		ForkJoinPool.commonPool().invoke(task);
+		return task.result();
+	}
+
+	/** @return count, min, max, mean and higher moments computed in a single parallel pass */
+	public SummaryStatistics summaryStatistics() {
+		StatisticsTask task = new StatisticsTask(array, beginIdx, beginIdx+size, Slice.estimateReasonableSplitSize(size));
+		ForkJoinPool.commonPool().invoke(task);
+		return task.stats;
+	}
+
+	/**
+	 * Values are ordered as by Arrays.sort, i.e. NaN is greater than all other values
+	 * and -0.0 is less than 0.0, so the result does not depend on the parallel split.
+	 * @throws NoSuchElementException when slice is empty
+	 */
+	public double min() {
+		return array[checkArg(argMin())];
+	}
+
+	/**
+	 * Values are ordered as by Arrays.sort, i.e. max is NaN when the slice contains NaN.
+	 * @throws NoSuchElementException when slice is empty
+	 */
+	public double max() {
+		return array[checkArg(argMax())];
+	}
+
+	/** @return array index of the (first) minimum or -1 when slice is empty, see {@link #min()} */
+	public int argMin() {
+		return reduce(ReductionTask.ARGMIN, null).argIdx;
+	}
+
+	/** @return array index of the (first) maximum or -1 when slice is empty, see {@link #max()} */
+	public int argMax() {
+		return reduce(ReductionTask.ARGMAX, null).argIdx;
+	}
+
+	/** @throws IllegalArgumentException when slices differ in size */
+	public double dot(DoubleSlice other) {
+		if(other.size != size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", size, other.size));
+		}
+		return reduce(ReductionTask.DOT, other).sum;
+	}
+
+	private ReductionTask reduce(int op, DoubleSlice other) {
+		ReductionTask task = new ReductionTask(
+				op, array,
+				other==null ? null:other.array,
+				other==null ? 0:other.beginIdx-beginIdx,
+				beginIdx, beginIdx+size, Slice.estimateReasonableSplitSize(size));
+		ForkJoinPool.commonPool().invoke(task);
+		return task;
+	}
+
+	private static int checkArg(int idx) {
+		if(idx < 0){
+			throw new NoSuchElementException("Slice is empty");
+		}
+		return idx;
+	}
+
+	///////////////////////////////
+	// Histograms
+	///////////////////////////////
+
+	/**
+	 * Parallel histogram with bins of equal width over [min, max]. The last bin includes max,
+	 * values outside the range (and NaN) are not counted.
+	 * @throws IllegalArgumentException when bins is not positive or the range is empty or not finite
+	 */
+	public long[] histogram(int bins, double min, double max) {
+		if(bins < 1){
+			throw new IllegalArgumentException("Number of bins has to be positive, was " + bins);
+		}
+		if(!(min < max) || Double.isInfinite(max-min)){
+			throw new IllegalArgumentException(String.format("Invalid range [%s,%s]", min, max));
+		}
+		return histogram(new HistogramTask.Bins(bins, min, max, null));
+	}
+
+	/**
+	 * Parallel histogram with custom bins [edges[k], edges[k+1]). The last bin includes its
+	 * upper edge, values outside the edges (and NaN) are not counted.
+	 * @param edges strictly increasing bin edges, at least 2
+	 * @throws IllegalArgumentException when edges are not strictly increasing or fewer than 2
+	 */
+	public long[] histogram(double[] edges) {
+		if(edges.length < 2){
+			throw new IllegalArgumentException("At least 2 edges are required, got " + edges.length);
+		}
+		for(int k = 1; k < edges.length; k++){
+			if(!(edges[k-1] < edges[k])){
+				throw new IllegalArgumentException("Edges are not strictly increasing at index " + k);
+			}
+		}
+		return histogram(new HistogramTask.Bins(edges.length-1, edges[0], edges[edges.length-1], edges.clone()));
+	}
+
+	/**
+	 * Parallel count of the occurrences of each value.
+	 * @return counts of the values 0 to max, empty when slice is empty
+	 * @throws IllegalArgumentException when values are negative, not integral or NaN
+	 */
+	public long[] bincount() {
+		if(size == 0){
+			return new long[0];
+		}
+		// compared as double, which holds every count-able value exactly
+		double min = min();
+		double max = max();
+		if(min < 0){
+			throw new IllegalArgumentException("Cannot count negative value " + min);
+		}
+		if(Double.isNaN(max) || max != Math.rint(max)){
+			throw new IllegalArgumentException("Cannot count non integral value " + max);
+		}
+		if(max >= Integer.MAX_VALUE-8){
+			throw new IllegalArgumentException("Value too large for counting " + max);
+		}
+		return histogram(new HistogramTask.Bins((int)max+1, 0, 0, null));
+	}
+
+	private long[] histogram(HistogramTask.Bins bins) {
+		// each leaf allocates its own counters, so leaves get at least as many elements as bins
+		HistogramTask task = new HistogramTask(array, beginIdx, beginIdx+size,
+				Math.max(Slice.estimateReasonableSplitSize(size), bins.numBins), bins);
+		ForkJoinPool.commonPool().invoke(task);
+		return task.counts;
+	}
+
+	///////////////////////////////
+	// Lazy Expressions
+	///////////////////////////////
+
+	/** @return lazy expression applying the operator to each element of this slice */
+	public DoubleExpression map(DoubleExpression.UnaryOp op) {
+		return new DoubleExpression.SourceNode(array, beginIdx, size).map(op);
+	}
+
+	/** @return lazy expression combining the elements of this and the other slice pairwise */
+	public DoubleExpression zip(DoubleSlice other, DoubleExpression.BinaryOp op) {
+		return new DoubleExpression.SourceNode(array, beginIdx, size)
+				.zip(new DoubleExpression.SourceNode(other.array, other.beginIdx, other.size), op);
+	}
+
+	///////////////////////////////
+	// Scan & Compaction
+	///////////////////////////////
+
+	/**
+	 * Replaces each element of this slice by the sum of itself and all preceding elements
+	 * (parallel two pass scan over blocks of the spliterator's split size).
+	 * @return sum of all elements
+	 */
+	public double scanInclusive() {
+		return scan(true);
+	}
+
+	/**
+	 * Replaces each element of this slice by the sum of all preceding elements, i.e. the
+	 * first element becomes 0. Turns e.g. histogram counts into offsets.
+	 * @return sum of all elements
+	 */
+	public double scanExclusive() {
+		return scan(false);
+	}
+
+	private double scan(boolean inclusive) {
+		final int blockSize = Slice.estimateReasonableSplitSize(size);
+		final int numBlocks = (size+blockSize-1)/blockSize;
+		final double[] blockSums = new double[numBlocks];
+		// pass 1: sum per block
+		Natives.forEachBlock(ForkJoinPool.commonPool(), numBlocks, b->{
+			int from = beginIdx+b*blockSize;
+			blockSums[b] = ReductionTask.sum(array, from, Math.min(beginIdx+size, from+blockSize));
+		});
+		double total = 0;
+		for(int b = 0; b < numBlocks; b++){
+			double blockSum = blockSums[b];
+			blockSums[b] = total;
+			total += blockSum;
+		}
+		// pass 2: scan per block starting at sum of preceding blocks
+		Natives.forEachBlock(ForkJoinPool.commonPool(), numBlocks, b->{
+			int from = beginIdx+b*blockSize;
+			int to = Math.min(beginIdx+size, from+blockSize);
+			double sum = blockSums[b];
+			for(int i = from; i < to; i++){
+				double value = array[i];
+				if(inclusive){
+					sum += value;
+					array[i] = sum;
+				} else {
+					array[i] = sum;
+					sum += value;
+				}
+			}
+		});
+		return total;
+	}
+
+	/**
+	 * Parallel stream compaction.
+	 * @param predicate stateless predicate, is evaluated twice per element
+	 * @return new array containing the elements that satisfy the predicate in their order
+	 */
+	public double[] filter(ValuePredicate predicate) {
+		final int blockSize = Slice.estimateReasonableSplitSize(size);
+		final int numBlocks = (size+blockSize-1)/blockSize;
+		final int[] offsets = countPerBlock(predicate, blockSize, numBlocks);
+		final double[] result = new double[offsets[numBlocks]];
+		Natives.forEachBlock(ForkJoinPool.commonPool(), numBlocks, b->{
+			int from = beginIdx+b*blockSize;
+			int to = Math.min(beginIdx+size, from+blockSize);
+			int pos = offsets[b];
+			for(int i = from; i < to; i++){
+				if(predicate.test(array[i]))
+					result[pos++] = array[i];
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Parallel stream compaction of indices.
+	 * @param predicate stateless predicate, is evaluated twice per element
+	 * @return array indices of the elements that satisfy the predicate in ascending order
+	 */
+	public int[] filterIndices(ValuePredicate predicate) {
+		final int blockSize = Slice.estimateReasonableSplitSize(size);
+		final int numBlocks = (size+blockSize-1)/blockSize;
+		final int[] offsets = countPerBlock(predicate, blockSize, numBlocks);
+		final int[] result = new int[offsets[numBlocks]];
+		Natives.forEachBlock(ForkJoinPool.commonPool(), numBlocks, b->{
+			int from = beginIdx+b*blockSize;
+			int to = Math.min(beginIdx+size, from+blockSize);
+			int pos = offsets[b];
+			for(int i = from; i < to; i++){
+				if(predicate.test(array[i]))
+					result[pos++] = i;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Parallel evaluation of the predicate into a bit mask, bit i corresponds to element i
+	 * of this slice (relative to the begin index).
+	 */
+	public BitSlice mask(ValuePredicate predicate) {
+		final BitSlice mask = BitSlice.allocate(size);
+		final long[] words = mask.words;
+		BitSlice.forEachWordBlock(words.length, (b, from, to)->{
+			for(int w = from; w < to; w++){
+				long word = 0;
+				int base = beginIdx+(w << 6);
+				int n = Math.min(64, size-(w << 6));
+				for(int bit = 0; bit < n; bit++){
+					if(predicate.test(array[base+bit]))
+						word |= 1L << bit;
+				}
+				words[w] = word;
+			}
+		});
+		return mask;
+	}
+
+	/**
+	 * Parallel compaction by a bit mask, bit i selects element i of this slice
+	 * (relative to the begin index).
+	 * @return new array containing the selected elements in their order
+	 * @throws IllegalArgumentException when mask and slice differ in size
+	 */
+	public double[] filter(BitSlice mask) {
+		if(mask.size != size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", size, mask.size));
+		}
+		final long[] words = mask.words;
+		final int numWords = BitSlice.numWords(size);
+		final int numBlocks = BitSlice.numBlocks(numWords);
+		final int[] offsets = new int[numBlocks+1];
+		BitSlice.forEachWordBlock(numWords, numBlocks, (b, from, to)->{
+			int count = 0;
+			for(int w = from; w < to; w++){
+				count += Long.bitCount(words[w]);
+			}
+			offsets[b+1] = count;
+		});
+		for(int b = 0; b < numBlocks; b++){
+			offsets[b+1] += offsets[b];
+		}
+		final double[] result = new double[offsets[numBlocks]];
+		BitSlice.forEachWordBlock(numWords, numBlocks, (b, from, to)->{
+			int pos = offsets[b];
+			for(int w = from; w < to; w++){
+				long word = words[w];
+				int base = beginIdx+(w << 6);
+				while(word != 0){
+					result[pos++] = array[base+Long.numberOfTrailingZeros(word)];
+					word &= word-1;
+				}
+			}
+		});
+		return result;
+	}
+
+	/** @return exclusive scan of the number of matches per block, with the total at index numBlocks */
+	private int[] countPerBlock(ValuePredicate predicate, int blockSize, int numBlocks) {
+		final int[] offsets = new int[numBlocks+1];
+		Natives.forEachBlock(ForkJoinPool.commonPool(), numBlocks, b->{
+			int from = beginIdx+b*blockSize;
+			int to = Math.min(beginIdx+size, from+blockSize);
+			int count = 0;
+			for(int i = from; i < to; i++){
+				if(predicate.test(array[i]))
+					count++;
+			}
+			offsets[b+1] = count;
+		});
+		for(int b = 0; b < numBlocks; b++){
+			offsets[b+1] += offsets[b];
+		}
+		return offsets;
+	}
+
+	///////////////////////////////
+	// Gather & Scatter
+	///////////////////////////////
+
+	/**
+	 * Parallel gather of the elements at the specified array indices (like getAt).
+	 * @return new array with {@code result[i] = getAt(indices.getAt(indices.getBeginIdx()+i))}
+	 * @throws ArrayIndexOutOfBoundsException when an index is out of the array
+	 */
+	public double[] gather(IntSlice indices) {
+		final int[] idx = indices.array;
+		final int idxBegin = indices.beginIdx;
+		final int n = indices.size;
+		final double[] result = new double[n];
+		final int blockSize = Slice.estimateReasonableSplitSize(n);
+		Natives.forEachBlock(ForkJoinPool.commonPool(), (n+blockSize-1)/blockSize, b->{
+			int hi = Math.min(n, b*blockSize+blockSize);
+			for(int i = b*blockSize; i < hi; i++){
+				result[i] = array[idx[idxBegin+i]];
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Parallel scatter of the source values to the specified array indices (like setAt),
+	 * i.e. element i of the source goes to index i of the index slice.
+	 * Conflicting writes to the same index are resolved by the policy in the order of the
+	 * source, so results are deterministic (also for floating point addition).
+	 * The pairs are bucketed by target range with a counting pass first, then each bucket
+	 * is applied by a single task, so that no atomic updates are needed.
+	 * @throws IllegalArgumentException when index and source slice differ in size
+	 * @throws IndexOutOfBoundsException when an index is out of the array
+	 */
+	public void scatter(IntSlice indices, DoubleSlice source, ScatterPolicy policy) {
+		if(indices.size != source.size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", indices.size, source.size));
+		}
+		final int[] idx = indices.array;
+		final int idxBegin = indices.beginIdx;
+		final double[] src = source.array;
+		final int srcBegin = source.beginIdx;
+		final int n = indices.size;
+		final ForkJoinPool pool = ForkJoinPool.commonPool();
+		if(n == 0)
+			return;
+		// target buckets of power of two size, source blocks
+		final int numBlocks = Natives.numBlocks(pool, n, RADIX_SORT_THRESHOLD);
+		final int blockSize = (n+numBlocks-1)/numBlocks;
+		final int bucketShift = Math.max(10, 32-Integer.numberOfLeadingZeros(Math.max(1, array.length/(pool.getParallelism()*4))));
+		final int numBuckets = (Math.max(0, array.length-1) >>> bucketShift)+1;
+		final int[][] offsets = new int[numBlocks][numBuckets];
+		Natives.forEachBlock(pool, numBlocks, b->{
+			int[] counts = offsets[b];
+			int hi = Math.min(n, b*blockSize+blockSize);
+			for(int i = b*blockSize; i < hi; i++){
+				int t = idx[idxBegin+i];
+				if(t < 0 || t >= array.length){
+					throw new IndexOutOfBoundsException(String.format("Index %d not within [0,%d)", t, array.length));
+				}
+				counts[t >>> bucketShift]++;
+			}
+		});
+		// offsets ordered by bucket then block, so that each bucket lists sources in ascending order
+		final int[] bucketStarts = new int[numBuckets+1];
+		int pos = 0;
+		for(int k = 0; k < numBuckets; k++){
+			bucketStarts[k] = pos;
+			for(int b = 0; b < numBlocks; b++){
+				int count = offsets[b][k];
+				offsets[b][k] = pos;
+				pos += count;
+			}
+		}
+		bucketStarts[numBuckets] = pos;
+		final int[] order = new int[n];
+		Natives.forEachBlock(pool, numBlocks, b->{
+			int[] offs = offsets[b];
+			int hi = Math.min(n, b*blockSize+blockSize);
+			for(int i = b*blockSize; i < hi; i++){
+				order[offs[idx[idxBegin+i] >>> bucketShift]++] = i;
+			}
+		});
+		Natives.forEachBlock(pool, numBuckets, k->{
+			final int hi = bucketStarts[k+1];
+			switch (policy) {
+			case LAST_WINS:
+				for(int p = bucketStarts[k]; p < hi; p++){
+					int i = order[p];
+					array[idx[idxBegin+i]] = src[srcBegin+i];
+				}
+				break;
+			case ADD:
+				for(int p = bucketStarts[k]; p < hi; p++){
+					int i = order[p];
+					array[idx[idxBegin+i]] += src[srcBegin+i];
+				}
+				break;
+			case MAX:
+				for(int p = bucketStarts[k]; p < hi; p++){
+					int i = order[p];
+					int t = idx[idxBegin+i];
+					if(Natives.less(array[t], src[srcBegin+i]))
+						array[t] = src[srcBegin+i];
+				}
+				break;
+			case MIN:
+				for(int p = bucketStarts[k]; p < hi; p++){
+					int i = order[p];
+					int t = idx[idxBegin+i];
+					if(Natives.less(src[srcBegin+i], array[t]))
+						array[t] = src[srcBegin+i];
+				}
+				break;
+			}
+		});
+	}
+
+	///////////////////////////////
+	// Sorting
+	///////////////////////////////
+
+	/**
+	 * Sorts the range of this slice in ascending order using a parallel LSD radix sort
+	 * on the common pool. For floating point types -0.0 comes before 0.0 and NaN comes
+	 * last, as in {@link Arrays#sort(double[])}.
+	 */
+	public void sort() {
+		sort(ForkJoinPool.commonPool());
+	}
+
+	/** Sorts the range of this slice using a parallel LSD radix sort on the specified pool */
+	public void sort(ForkJoinPool pool) {
+		radixSort(array, beginIdx, beginIdx+size, pool);
+	}
+
+	static final int RADIX_SORT_THRESHOLD = 1<<13;
+
+	static void radixSort(double[] a, int from, int to, ForkJoinPool pool) {
+		final int n = to-from;
+		if(n < RADIX_SORT_THRESHOLD){
+			Arrays.sort(a, from, to);
+			return;
+		}
+		final int numBlocks = Natives.numBlocks(pool, n, RADIX_SORT_THRESHOLD);
+		final int blockSize = (n+numBlocks-1)/numBlocks;
+		final int[][] offsets = new int[numBlocks][256];
+		double[] src = a, dst = new double[n];
+		int srcBegin = from, dstBegin = 0;
+		for(int shift = 0; shift < Double.SIZE; shift += 8){
+			final int s = shift;
+			final double[] fsrc = src, fdst = dst;
+			final int fsrcBegin = srcBegin;
+			// histogram of digits per block
+			Natives.forEachBlock(pool, numBlocks, b->{
+				int[] counts = offsets[b];
+				Arrays.fill(counts, 0);
+				int hi = Math.min(fsrcBegin+n, fsrcBegin+b*blockSize+blockSize);
+				for(int i = fsrcBegin+b*blockSize; i < hi; i++){
+					counts[(int)(Natives.sortKey(fsrc[i])>>>s) & 0xFF]++;
+				}
+			});
+			// offsets ordered by digit then block, pass can be skipped when all keys share the digit
+			boolean trivialPass = false;
+			int pos = dstBegin;
+			for(int d = 0; d < 256; d++){
+				int total = 0;
+				for(int b = 0; b < numBlocks; b++){
+					int count = offsets[b][d];
+					offsets[b][d] = pos;
+					pos += count;
+					total += count;
+				}
+				trivialPass |= total == n;
+			}
+			if(trivialPass)
+				continue;
+			// stable scatter per block
+			Natives.forEachBlock(pool, numBlocks, b->{
+				int[] offs = offsets[b];
+				int hi = Math.min(fsrcBegin+n, fsrcBegin+b*blockSize+blockSize);
+				for(int i = fsrcBegin+b*blockSize; i < hi; i++){
+					double x = fsrc[i];
+					fdst[offs[(int)(Natives.sortKey(x)>>>s) & 0xFF]++] = x;
+				}
+			});
+			src = fdst; dst = fsrc;
+			srcBegin = dstBegin; dstBegin = fsrcBegin;
+		}
+		if(src != a){
+			System.arraycopy(src, srcBegin, a, from, n);
+		}
+	}
+
+	///////////////////////////////
+	// Selection
+	///////////////////////////////
+
+	/**
+	 * Selects the k-th smallest element of this slice (in the order of {@link #sort()})
+	 * in expected linear time without modifying the slice. Large inputs are narrowed down
+	 * by parallel partition steps, each compacting the side that contains k into a scratch array.
+	 * @param k rank starting at 0
+	 * @throws IndexOutOfBoundsException when k is not within [0, size)
+	 */
+	public double select(int k) {
+		if(k < 0 || k >= size){
+			throw new IndexOutOfBoundsException(String.format("Rank %d not within [0,%d)", k, size));
+		}
+		return select(array, beginIdx, beginIdx+size, k, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Percentiles with linear interpolation between the closest ranks, e.g.
+	 * {@code percentiles(50, 99)} for the median and p99. Each distinct rank is selected
+	 * in expected linear time.
+	 * @param percentiles values within [0, 100]
+	 * @throws IllegalArgumentException when a percentile is not within [0, 100]
+	 * @throws NoSuchElementException when slice is empty
+	 */
+	public double[] percentiles(double... percentiles) {
+		for(double p: percentiles){
+			if(!(p >= 0 && p <= 100)){
+				throw new IllegalArgumentException("Percentile not within [0,100]: " + p);
+			}
+		}
+		if(size == 0){
+			throw new NoSuchElementException("Slice is empty");
+		}
+		java.util.Map<Integer, Double> selected = new java.util.HashMap<>();
+		double[] result = new double[percentiles.length];
+		for(int i = 0; i < percentiles.length; i++){
+			double pos = percentiles[i]/100*(size-1);
+			int lo = (int)Math.floor(pos);
+			int hi = (int)Math.ceil(pos);
+			double low = selected.computeIfAbsent(lo, this::select);
+			double high = selected.computeIfAbsent(hi, this::select);
+			result[i] = lo == hi ? low : low + (high-low)*(pos-lo);
+		}
+		return result;
+	}
+
+	/**
+	 * Largest k elements of this slice (in the order of {@link #sort()}), computed with
+	 * a bounded heap per fork join leaf. Heaps are merged on join.
+	 * @return the min(k, size) largest elements in descending order
+	 * @throws IllegalArgumentException when k is negative
+	 */
+	public double[] topK(int k) {
+		if(k < 0){
+			throw new IllegalArgumentException("k has to be non negative, was " + k);
+		}
+		k = Math.min(k, size);
+		if(k == 0){
+			return new double[0];
+		}
+		TopKTask task = new TopKTask(array, beginIdx, beginIdx+size, Math.max(Slice.estimateReasonableSplitSize(size), k), k);
+		ForkJoinPool.commonPool().invoke(task);
+		double[] result = task.heap;
+		Arrays.sort(result);
+		for(int i = 0, j = result.length-1; i < j; i++, j--){
+			double tmp = result[i];
+			result[i] = result[j];
+			result[j] = tmp;
+		}
+		return result;
+	}
+
+	static final int PARALLEL_SELECT_THRESHOLD = 1<<16;
+
+	/** @return k-th smallest element of a[from, to), does not modify a */
+	static double select(double[] a, int from, int to, int k, ForkJoinPool pool) {
+		double[] buffer = a;
+		while(to-from > PARALLEL_SELECT_THRESHOLD){
+			final double[] src = buffer;
+			final int begin = from;
+			final int n = to-from;
+			final double pivot = pivot(src, from, to);
+			final int blockSize = Slice.estimateReasonableSplitSize(n);
+			final int numBlocks = (n+blockSize-1)/blockSize;
+			final int[] lessOffsets = new int[numBlocks+1];
+			final int[] greaterOffsets = new int[numBlocks+1];
+			Natives.forEachBlock(pool, numBlocks, b->{
+				int hi = Math.min(begin+n, begin+b*blockSize+blockSize);
+				int numLess = 0, numGreater = 0;
+				for(int i = begin+b*blockSize; i < hi; i++){
+					if(Natives.less(src[i], pivot)) numLess++;
+					else if(Natives.less(pivot, src[i])) numGreater++;
+				}
+				lessOffsets[b+1] = numLess;
+				greaterOffsets[b+1] = numGreater;
+			});
+			for(int b = 0; b < numBlocks; b++){
+				lessOffsets[b+1] += lessOffsets[b];
+				greaterOffsets[b+1] += greaterOffsets[b];
+			}
+			final int numLess = lessOffsets[numBlocks];
+			final int numGreater = greaterOffsets[numBlocks];
+			final boolean takeLess;
+			if(k < numLess){
+				takeLess = true;
+			} else if(k >= n-numGreater){
+				takeLess = false;
+				k -= n-numGreater;
+			} else {
+				return pivot;
+			}
+			// compact the side containing k into a new scratch array
+			final int[] offsets = takeLess ? lessOffsets:greaterOffsets;
+			final double[] dst = new double[offsets[numBlocks]];
+			Natives.forEachBlock(pool, numBlocks, b->{
+				int hi = Math.min(begin+n, begin+b*blockSize+blockSize);
+				int pos = offsets[b];
+				for(int i = begin+b*blockSize; i < hi; i++){
+					if(takeLess ? Natives.less(src[i], pivot) : Natives.less(pivot, src[i]))
+						dst[pos++] = src[i];
+				}
+			});
+			buffer = dst;
+			from = 0;
+			to = dst.length;
+		}
+		if(buffer == a){
+			buffer = Arrays.copyOfRange(a, from, to);
+			to -= from;
+			from = 0;
+		}
+		return quickSelect(buffer, from, to, from+k);
+	}
+
+	/** sequential quickselect with three way partitioning, reorders a[from, to) */
+	static double quickSelect(double[] a, int from, int to, int k) {
+		while(to-from > 16){
+			double pivot = pivot(a, from, to);
+			// [from, lt) less, [lt, i) equal, (gt, to) greater than pivot
+			int lt = from, i = from, gt = to-1;
+			while(i <= gt){
+				double x = a[i];
+				if(Natives.less(x, pivot)){
+					a[i++] = a[lt];
+					a[lt++] = x;
+				} else if(Natives.less(pivot, x)){
+					a[i] = a[gt];
+					a[gt--] = x;
+				} else {
+					i++;
+				}
+			}
+			if(k < lt){
+				to = lt;
+			} else if(k > gt){
+				from = gt+1;
+			} else {
+				return pivot;
+			}
+		}
+		// insertion sort of the small remainder
+		for(int i = from+1; i < to; i++){
+			double x = a[i];
+			int j = i-1;
+			for(; j >= from && Natives.less(x, a[j]); j--){
+				a[j+1] = a[j];
+			}
+			a[j+1] = x;
+		}
+		return a[k];
+	}
+
+	/** @return median of three randomly chosen elements of a[from, to) */
+	static double pivot(double[] a, int from, int to) {
+		java.util.concurrent.ThreadLocalRandom rnd = java.util.concurrent.ThreadLocalRandom.current();
+		double x = a[rnd.nextInt(from, to)];
+		double y = a[rnd.nextInt(from, to)];
+		double z = a[rnd.nextInt(from, to)];
+		if(Natives.less(y, x)){ double t = x; x = y; y = t; }
+		if(Natives.less(z, y)){ y = z; }
+		return Natives.less(y, x) ? x : y;
+	}
+
+	/** copies only the range of this slice, the copy begins at index 0 */
+	public DoubleSlice copy() {
+		return new DoubleSlice(Arrays.copyOfRange(array, beginIdx, beginIdx+size), 0, size);
+	}
+
+	/**
+	 * View on the range [from, to) of this slice that shares the underlying array.
+	 * @param from first element of the view relative to this slice (inclusive)
+	 * @param to last element of the view relative to this slice (exclusive)
+	 */
+	public DoubleSlice subSlice(int from, int to) {
+		if(from < 0 || to > size || from > to){
+			throw new IndexOutOfBoundsException(String.format("Range [%d,%d) not within [0,%d)", from, to, size));
+		}
+		return new DoubleSlice(array, beginIdx+from, to-from);
+	}
+
+	/** boxing view on the same array */
+	public Slice<Double> boxed() {
+		return Slice.get(array, beginIdx, size);
+	}
+
+	public double getAt(int i){
+		return array[i];
+	}
+
+	public void setAt(int i, double e){
+		array[i] = e;
+	}
+
+	/**
+	 * Atomic accessor on the shared array of this slice, positioned at array index i
+	 * (like {@link #getAt(int)}). Its operations act in place, so concurrent updates of
+	 * the same elements, e.g. counting from within forEachParallel of another slice, need
+	 * no synchronization and are visible to every view of the array.
+	 * @see AtomicAccessor
+	 */
+	public AtomicAccessor atomicAccessor(int i){
+		AtomicAccessor acc = new AtomicAccessor(array);
+		acc.index = i;
+		return acc;
+	}
+
+	/** @return atomic accessor positioned at the first element of this slice, see {@link #atomicAccessor(int)} */
+	public AtomicAccessor atomicAccessor(){
+		return atomicAccessor(beginIdx);
+	}
+
+	public int length() {
+		return size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getBeginIdx() {
+		return beginIdx;
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	public static DoubleSlice get(double[] array, int beginIdx, int length){
+		return new DoubleSlice(array, beginIdx, length);
+	}
+
+	public static DoubleSlice get(double[] array){
+		return get(array, 0, array.length);
+	}
+
+	///////////////////////////////
+	// Accessor & Consumer
+	///////////////////////////////
+
+	public static final class Accessor implements Cloneable {
+		final double[] array;
+		int index;
+
+		Accessor(double[] array) {
+			this.array = array;
+		}
+
+		public double getDouble() {return array[index];}
+
+		public void setDouble(double e) {array[index] = e;}
+
+		public int getIndex(){ return index; }
+
+		public void setIndex(int i){index = i; }
+
+		/** only copies reference */
+		@Override
+		protected Accessor clone() {
+			Accessor clon = new Accessor(array);
+			clon.index = index;
+			return clon;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
+		}
+	}
+
+	/**
+	 * Accessor with volatile reads and writes and atomic updates of the element at its index,
+	 * acting in place on the array. Updates are done by compare and set, floating point values
+	 * are compared by their raw bits. Instances are cheap and meant to be used by a single
+	 * thread, while any number of threads may update the same elements through their own.
+	 * Requires a Java 9 runtime (array element VarHandles).
+	 */
+	public static final class AtomicAccessor implements Cloneable {
+		final double[] array;
+		int index;
+
+		AtomicAccessor(double[] array) {
+			this.array = array;
+		}
+
+		public double getDouble() {return AtomicArrays.getVolatile(array, index);}
+
+		public void setDouble(double e) {AtomicArrays.setVolatile(array, index, e);}
+
+		/** @return true when the value was expect and has been set to update */
+		public boolean compareAndSet(double expect, double update) {
+			return AtomicArrays.compareAndSet(array, index, expect, update);
+		}
+
+		/** @return previous value */
+		public double getAndSet(double e) {
+			return AtomicArrays.getAndSet(array, index, e);
+		}
+
+		/** @return previous value */
+		public double getAndAdd(double delta) {
+			return AtomicArrays.getAndAdd(array, index, delta);
+		}
+
+		/** @return updated value */
+		public double addAndGet(double delta) {
+			double value = AtomicArrays.getAndAdd(array, index, delta);
+			value += delta;
+			return value;
+		}
+
+		/**
+		 * Atomically replaces the value with op(value, x). The operator may be
+		 * applied several times under contention and should not have side effects.
+		 * @return previous value
+		 */
+		public double getAndAccumulate(double x, DoubleExpression.BinaryOp op) {
+			double prev;
+			do {
+				prev = AtomicArrays.getVolatile(array, index);
+			} while(!AtomicArrays.compareAndSet(array, index, prev, op.apply(prev, x)));
+			return prev;
+		}
+
+		/**
+		 * Atomically replaces the value with op(value, x), e.g. {@code Math::max}.
+		 * The operator may be applied several times under contention and should not have side effects.
+		 * @return updated value
+		 */
+		public double accumulateAndGet(double x, DoubleExpression.BinaryOp op) {
+			double prev, next;
+			do {
+				prev = AtomicArrays.getVolatile(array, index);
+				next = op.apply(prev, x);
+			} while(!AtomicArrays.compareAndSet(array, index, prev, next));
+			return next;
+		}
+
+		/**
+		 * Atomically replaces the value with op(value).
+		 * The operator may be applied several times under contention and should not have side effects.
+		 * @return updated value
+		 */
+		public double updateAndGet(DoubleExpression.UnaryOp op) {
+			double prev, next;
+			do {
+				prev = AtomicArrays.getVolatile(array, index);
+				next = op.apply(prev);
+			} while(!AtomicArrays.compareAndSet(array, index, prev, next));
+			return next;
+		}
+
+		public int getIndex(){ return index; }
+
+		public void setIndex(int i){index = i; }
+
+		/** only copies reference */
+		@Override
+		protected AtomicAccessor clone() {
+			AtomicAccessor clon = new AtomicAccessor(array);
+			clon.index = index;
+			return clon;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
+		}
+	}
+
+	@FunctionalInterface
+	public static interface ValueConsumer {
+		public void accept(double value);
+	}
+
+	@FunctionalInterface
+	public static interface ValuePredicate {
+		public boolean test(double value);
+	}
+
+	@FunctionalInterface
+	public static interface ChunkConsumer {
+		public void accept(double[] array, int from, int to);
+	}
+
+	///////////////////////////////
+	// Top K Task
+	///////////////////////////////
+
+	/** bounded min heap of the k largest elements per leaf, heaps of siblings are merged on join */
+	static final class TopKTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final double[] array;
+		final int from;
+		final int to;
+		final int minimumSplitSize;
+		final int k;
+
+		double[] heap;
+		int heapSize;
+
+		TopKTask(double[] array, int from, int to, int minSplitSize, int k) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.minimumSplitSize = minSplitSize;
+			this.k = k;
+		}
+
+		@Override
+		protected void compute() {
+			int midIdx = from + (to-from)/2;
+			if(midIdx > from+minimumSplitSize){
+				TopKTask left = new TopKTask(array, from, midIdx, minimumSplitSize, k);
+				TopKTask right = new TopKTask(array, midIdx, to, minimumSplitSize, k);
+				invokeAll(left, right);
+				heap = left.heap;
+				heapSize = left.heapSize;
+				for(int i = 0; i < right.heapSize; i++){
+					offer(right.heap[i]);
+				}
+			} else {
+				heap = new double[Math.min(k, to-from)];
+				for(int i = from; i < to; i++){
+					offer(array[i]);
+				}
+			}
+			if(heapSize < heap.length){
+				heap = Arrays.copyOf(heap, heapSize);
+			}
+		}
+
+		private void offer(double x) {
+			if(heapSize < heap.length){
+				// leaf heaps are sized to the leaf, grow up to k when merging
+				heap[heapSize] = x;
+				siftUp(heapSize++);
+			} else if(heapSize < k){
+				heap = Arrays.copyOf(heap, Math.min(k, heap.length*2));
+				offer(x);
+			} else if(Natives.less(heap[0], x)){
+				heap[0] = x;
+				siftDown(0);
+			}
+		}
+
+		private void siftUp(int i) {
+			double x = heap[i];
+			while(i > 0){
+				int parent = (i-1) >>> 1;
+				if(!Natives.less(x, heap[parent]))
+					break;
+				heap[i] = heap[parent];
+				i = parent;
+			}
+			heap[i] = x;
+		}
+
+		private void siftDown(int i) {
+			double x = heap[i];
+			int half = heapSize >>> 1;
+			while(i < half){
+				int child = 2*i+1;
+				if(child+1 < heapSize && Natives.less(heap[child+1], heap[child]))
+					child++;
+				if(!Natives.less(heap[child], x))
+					break;
+				heap[i] = heap[child];
+				i = child;
+			}
+			heap[i] = x;
+		}
+	}
+
+	///////////////////////////////
+	// Statistics Task
+	///////////////////////////////
+
+	static final class StatisticsTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final double[] array;
+		final int from;
+		final int to;
+		final int minimumSplitSize;
+
+		SummaryStatistics stats;
+
+		StatisticsTask(double[] array, int from, int to, int minSplitSize) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		@Override
+		protected void compute() {
+			int midIdx = from + (to-from)/2;
+			if(midIdx > from+minimumSplitSize){
+				StatisticsTask left = new StatisticsTask(array, from, midIdx, minimumSplitSize);
+				StatisticsTask right = new StatisticsTask(array, midIdx, to, minimumSplitSize);
+				invokeAll(left, right);
+				stats = left.stats.combine(right.stats);
+			} else {
+				stats = new SummaryStatistics();
+				for(int i = from; i < to; i++){
+					stats.accept(array[i]);
+				}
+			}
+		}
+	}
+
+	static final int REPRODUCIBLE_BLOCK_SIZE = 1<<12;
+
+	///////////////////////////////
+	// Compensated Sum Task
+	///////////////////////////////
+
+	/**
+	 * Neumaier summation over a split tree that is determined by the range alone:
+	 * ranges are split at the middle block boundary until a single block remains.
+	 */
+	static final class CompensatedSumTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final double[] array;
+		final int from;
+		final int to;
+
+		double sum;
+		double compensation;
+
+		CompensatedSumTask(double[] array, int from, int to) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			int numBlocks = (to-from+REPRODUCIBLE_BLOCK_SIZE-1)/REPRODUCIBLE_BLOCK_SIZE;
+			if(numBlocks > 1){
+				int midIdx = from + (numBlocks/2)*REPRODUCIBLE_BLOCK_SIZE;
+				CompensatedSumTask left = new CompensatedSumTask(array, from, midIdx);
+				CompensatedSumTask right = new CompensatedSumTask(array, midIdx, to);
+				invokeAll(left, right);
+				sum = left.sum;
+				compensation = left.compensation + right.compensation;
+				add(right.sum);
+			} else {
+				for(int i = from; i < to; i++){
+					add(array[i]);
+				}
+			}
+		}
+
+		private void add(double x) {
+			double t = sum + x;
+			if(Math.abs(sum) >= Math.abs(x)){
+				compensation += (sum - t) + x;
+			} else {
+				compensation += (x - t) + sum;
+			}
+			sum = t;
+		}
+
+		double result() {
+			double result = sum + compensation;
+			// compensation becomes NaN once the sum overflows to infinity
+			return Double.isNaN(result) && !Double.isNaN(sum) ? sum:result;
+		}
+	}
+
+	///////////////////////////////
+	// Histogram Task
+	///////////////////////////////
+
+	/**
+	 * Counts into private counters per leaf, the counters of sibling tasks are merged
+	 * when joining (tree reduction).
+	 */
+	static final class HistogramTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		/** fixed width bins (edges == null), custom edges or value counts (min == max) */
+		static final class Bins {
+			final int numBins;
+			final double min;
+			final double max;
+			final double[] edges;
+
+			Bins(int numBins, double min, double max, double[] edges) {
+				this.numBins = numBins;
+				this.min = min;
+				this.max = max;
+				this.edges = edges;
+			}
+		}
+
+		final double[] array;
+		final int from;
+		final int to;
+		final int minimumSplitSize;
+		final Bins bins;
+
+		long[] counts;
+
+		HistogramTask(double[] array, int from, int to, int minSplitSize, Bins bins) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.minimumSplitSize = minSplitSize;
+			this.bins = bins;
+		}
+
+		@Override
+		protected void compute() {
+			int midIdx = from + (to-from)/2;
+			if(midIdx > from+minimumSplitSize){
+				HistogramTask left = new HistogramTask(array, from, midIdx, minimumSplitSize, bins);
+				HistogramTask right = new HistogramTask(array, midIdx, to, minimumSplitSize, bins);
+				invokeAll(left, right);
+				counts = left.counts;
+				for(int k = 0; k < counts.length; k++){
+					counts[k] += right.counts[k];
+				}
+			} else {
+				counts = new long[bins.numBins];
+				if(bins.edges != null){
+					countEdges();
+				} else if(bins.min < bins.max){
+					countFixedWidth();
+				} else {
+					countValues();
+				}
+			}
+		}
+
+		private void countFixedWidth() {
+			final long[] counts = this.counts;
+			final int last = counts.length-1;
+			final double min = bins.min;
+			final double max = bins.max;
+			final double scale = counts.length/(max-min);
+			for(int i = from; i < to; i++){
+				double v = array[i];
+				if(v >= min && v <= max){
+					counts[Math.min(last, (int)((v-min)*scale))]++;
+				}
+			}
+		}
+
+		private void countEdges() {
+			final long[] counts = this.counts;
+			final double[] edges = bins.edges;
+			final double min = edges[0];
+			final double max = edges[edges.length-1];
+			for(int i = from; i < to; i++){
+				double v = array[i];
+				if(v >= min && v <= max){
+					// largest k with edges[k] <= v
+					int lo = 0, hi = counts.length-1;
+					while(lo < hi){
+						int mid = (lo+hi+1) >>> 1;
+						if(edges[mid] <= v) lo = mid; else hi = mid-1;
+					}
+					counts[lo]++;
+				}
+			}
+		}
+
+		private void countValues() {
+			final long[] counts = this.counts;
+			for(int i = from; i < to; i++){
+				double v = array[i];
+				int bin = (int)v;
+				if(bin != v){
+					throw new IllegalArgumentException("Cannot count non integral value " + v);
+				}
+				counts[bin]++;
+			}
+		}
+	}
+
+	///////////////////////////////
+	// Reduction Task
+	///////////////////////////////
+
+	static final class ReductionTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		static final int SUM=0, ARGMIN=1, ARGMAX=2, DOT=3;
+
+		final int op;
+		final double[] array;
+		final double[] other;
+		final int otherOffset;
+		final int from;
+		final int to;
+		final int minimumSplitSize;
+
+		double sum;
+		int argIdx = -1;
+
+		ReductionTask(int op, double[] array, double[] other, int otherOffset, int from, int to, int minSplitSize) {
+			this.op = op;
+			this.array = array;
+			this.other = other;
+			this.otherOffset = otherOffset;
+			this.from = from;
+			this.to = to;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		@Override
+		protected void compute() {
+			int midIdx = from + (to-from)/2;
+			if(midIdx > from+minimumSplitSize){
+				ReductionTask left = new ReductionTask(op, array, other, otherOffset, from, midIdx, minimumSplitSize);
+				ReductionTask right = new ReductionTask(op, array, other, otherOffset, midIdx, to, minimumSplitSize);
+				invokeAll(left, right);
+				combine(left, right);
+			} else {
+				switch (op) {
+				case SUM: sum = sum(array, from, to); break;
+				case DOT: sum = dot(array, other, otherOffset, from, to); break;
+				case ARGMIN: argIdx = argMin(array, from, to); break;
+				case ARGMAX: argIdx = argMax(array, from, to); break;
+				}
+			}
+		}
+
+		void combine(ReductionTask left, ReductionTask right) {
+			sum = left.sum+right.sum;
+			if(left.argIdx < 0 || right.argIdx < 0){
+				argIdx = Math.max(left.argIdx, right.argIdx);
+			} else if(op == ARGMIN){
+				argIdx = Natives.less(array[right.argIdx], array[left.argIdx]) ? right.argIdx:left.argIdx;
+			} else {
+				argIdx = Natives.less(array[left.argIdx], array[right.argIdx]) ? right.argIdx:left.argIdx;
+			}
+		}
+
+		static double sum(double[] a, int from, int to) {
+			double s = 0;
+			for(int i = from; i < to; i++){
+				s += a[i];
+			}
+			return s;
+		}
+
+		static double dot(double[] a, double[] b, int offset, int from, int to) {
+			double s = 0;
+			for(int i = from; i < to; i++){
+				s += a[i]*b[i+offset];
+			}
+			return s;
+		}
+
+		static int argMin(double[] a, int from, int to) {
+			if(from >= to)
+				return -1;
+			int m = from;
+			double v = a[from];
+			for(int i = from+1; i < to; i++){
+				if(Natives.less(a[i], v)){
+					v = a[i];
+					m = i;
+				}
+			}
+			return m;
+		}
+
+		static int argMax(double[] a, int from, int to) {
+			if(from >= to)
+				return -1;
+			int m = from;
+			double v = a[from];
+			for(int i = from+1; i < to; i++){
+				if(Natives.less(v, a[i])){
+					v = a[i];
+					m = i;
+				}
+			}
+			return m;
+		}
+	}
+
+	///////////////////////////////
+	// Iterator & Spliterator
+	///////////////////////////////
+
+	static final class AccessorIterator implements Iterator<Accessor> {
+		int i;
+		final int endIndexExcl;
+		final Accessor acc;
+
+		public AccessorIterator(int startIndex, int endIndexExcl, Accessor acc) {
+			this.acc = acc;
+			this.i = startIndex-1;
+			this.endIndexExcl = endIndexExcl;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return i+1 < endIndexExcl;
+		}
+		@Override
+		public Accessor next() {
+			i++;
+			acc.index = i;
+			return acc;
+		}
+		@Override
+		public void forEachRemaining(Consumer<? super Accessor> action) {
+			i++;
+			for(; i < endIndexExcl; i++){
+				acc.index = i;
+				action.accept(acc);
+			}
+		}
+	}
+
+	static final class AccessorSpliterator implements Spliterator<Accessor> {
+
+		final Accessor acc;
+		int endIndex;
+		final int minimumSplitSize;
+
+		/**
+		 * Constructs a new AccessorSpliterator for the specified index range
+		 * @param startIndex first index of the range (inclusive)
+		 * @param endIndex last index of the range (inclusive)
+		 * @param minSplitSize minimum split size for this spliterator (minimum number of elements in a split)
+		 */
+		AccessorSpliterator(int startIndex, int endIndex, int minSplitSize, Accessor acc) {
+			this.acc = acc.clone();
+			this.acc.index = startIndex;
+			this.endIndex = endIndex;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super Accessor> action) {
+			if(acc.index <= endIndex){
+				int index = acc.index;
+				action.accept(acc);
+				acc.index = index+1;
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super Accessor> action) {
+			final Accessor acc = this.acc;
+			final int endIndex = this.endIndex;
+			for(int idx = acc.index; idx <= endIndex; acc.index = ++idx){
+				action.accept(acc);
+			}
+		}
+
+		@Override
+		public Spliterator<Accessor> trySplit() {
+			int currentIdx = Math.min(acc.index, endIndex);
+			int midIdx = currentIdx + (endIndex-currentIdx)/2;
+			if(midIdx > currentIdx+minimumSplitSize){
+				AccessorSpliterator split = new AccessorSpliterator(midIdx, endIndex, minimumSplitSize, acc);
+				endIndex = midIdx-1;
+				return split;
+			} else {
+				return null;
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return endIndex+1-acc.index;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | SIZED | CONCURRENT | SUBSIZED | IMMUTABLE;
+		}
+
+	}
+
+	static final class ChunkTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final double[] array;
+		final int from;
+		final int to;
+		final int minimumSplitSize;
+		final ChunkConsumer action;
+
+		ChunkTask(double[] array, int from, int to, int minSplitSize, ChunkConsumer action) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.minimumSplitSize = minSplitSize;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			int midIdx = from + (to-from)/2;
+			if(midIdx > from+minimumSplitSize){
+				invokeAll(
+						new ChunkTask(array, from, midIdx, minimumSplitSize, action),
+						new ChunkTask(array, midIdx, to, minimumSplitSize, action));
+			} else {
+				action.accept(array, from, to);
+			}
+		}
+	}
+
+}
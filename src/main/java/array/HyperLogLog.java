@@ -0,0 +1,152 @@
+package array;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToLongFunction;
+
+/**
+ * HyperLogLog sketch for estimating the number of distinct int or long values
+ * with 2^precision one byte registers. The relative standard error of the estimate
+ * is about 1.04/sqrt(2^precision), e.g. 0.8% for the default precision 14 (16KB).
+ * Ints are hashed like the equal long value, so int and long IDs can be mixed.
+ * Sketches of the same precision can be merged.
+ */
+public class HyperLogLog implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public static final int DEFAULT_PRECISION = 14;
+
+	private final int precision;
+	private final byte[] registers;
+
+	public HyperLogLog() {
+		this(DEFAULT_PRECISION);
+	}
+
+	/** @throws IllegalArgumentException when precision is not within [4, 18] */
+	public HyperLogLog(int precision) {
+		if(precision < 4 || precision > 18){
+			throw new IllegalArgumentException("Precision has to be within [4,18], was " + precision);
+		}
+		this.precision = precision;
+		this.registers = new byte[1 << precision];
+	}
+
+	///////////////////////////////
+	// Building
+	///////////////////////////////
+
+	/** builds a sketch of the slice in parallel, each block counts into private registers that are merged */
+	public static HyperLogLog of(IntSlice slice, int precision) {
+		final int[] array = slice.array;
+		return of(i->array[i], slice.beginIdx, slice.size, precision);
+	}
+
+	/** builds a sketch of the slice in parallel, each block counts into private registers that are merged */
+	public static HyperLogLog of(LongSlice slice, int precision) {
+		final long[] array = slice.array;
+		return of(i->array[i], slice.beginIdx, slice.size, precision);
+	}
+
+	/** counts the values at the indices [begin, begin+n) in parallel */
+	private static HyperLogLog of(IntToLongFunction values, int begin, int n, int precision) {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		final int numBlocks = Natives.numBlocks(pool, n, Math.max(Slice.estimateReasonableSplitSize(n), 1 << precision));
+		final int blockSize = (n+numBlocks-1)/numBlocks;
+		return Natives.reduceBlocks(pool, numBlocks, b->{
+			HyperLogLog sketch = new HyperLogLog(precision);
+			int hi = Math.min(begin+n, begin+b*blockSize+blockSize);
+			for(int i = begin+b*blockSize; i < hi; i++){
+				sketch.accept(values.applyAsLong(i));
+			}
+			return sketch;
+		}, HyperLogLog::merge);
+	}
+
+	/** builds a sketch from the integral values of the slice in parallel using its spliterator */
+	public static HyperLogLog of(Slice<? extends Number> slice, int precision) {
+		return slice.parallelStream().collect(
+				()->new HyperLogLog(precision),
+				(sketch, acc)->sketch.accept(acc.get().longValue()),
+				HyperLogLog::merge);
+	}
+
+	public void accept(int value) {
+		accept((long)value);
+	}
+
+	public void accept(long value) {
+		long hash = Natives.mix64(value);
+		int index = (int)(hash >>> (64-precision));
+		// position of the first set bit in the remaining bits, sentinel bit bounds the rank
+		int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision-1))) + 1;
+		if(rank > registers[index]){
+			registers[index] = (byte)rank;
+		}
+	}
+
+	/**
+	 * Merges the other sketch into this one.
+	 * @return this
+	 * @throws IllegalArgumentException when sketches differ in precision
+	 */
+	public HyperLogLog merge(HyperLogLog other) {
+		if(other.precision != precision){
+			throw new IllegalArgumentException(String.format("Cannot merge sketches with precision %d and %d", precision, other.precision));
+		}
+		for(int i = 0; i < registers.length; i++){
+			if(other.registers[i] > registers[i])
+				registers[i] = other.registers[i];
+		}
+		return this;
+	}
+
+	///////////////////////////////
+	// Queries
+	///////////////////////////////
+
+	/** @return estimated number of distinct values */
+	public long estimate() {
+		final int m = registers.length;
+		double sum = 0;
+		int zeros = 0;
+		for(byte r: registers){
+			sum += Double.longBitsToDouble((1023L - r) << 52); // 2^-r
+			if(r == 0)
+				zeros++;
+		}
+		double alpha;
+		switch (m) {
+		case 16: alpha = 0.673; break;
+		case 32: alpha = 0.697; break;
+		case 64: alpha = 0.709; break;
+		default: alpha = 0.7213/(1+1.079/m); break;
+		}
+		double estimate = alpha*m*m/sum;
+		if(estimate <= 2.5*m && zeros > 0){
+			// linear counting for small cardinalities
+			estimate = m*Math.log(m/(double)zeros);
+		}
+		return Math.round(estimate);
+	}
+
+	/** @return relative standard error of the estimate */
+	public double standardError() {
+		return 1.04/Math.sqrt(registers.length);
+	}
+
+	public int getPrecision() {
+		return precision;
+	}
+
+	public void clear() {
+		Arrays.fill(registers, (byte)0);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] precision=%d, estimate=%d", getClass().getSimpleName(), precision, estimate());
+	}
+
+}
@@ -0,0 +1,322 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoCompressedSlice.java */
+package array;
+
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed immutable slice of integral values, encoded in blocks of 128 values.
+ * Each block stores its first value and the differences of consecutive values
+ * (delta), minus the smallest difference of the block (frame of reference),
+ * bit packed with the width of the largest remaining difference. Sorted values
+ * with small gaps (timestamps, row IDs) compress to a few bits per value.
+ * <p>
+ * Random access decodes at most one block prefix, traversal through the spliterator
+ * decodes one block at a time and splits on block boundaries. Encoding and full
+ * decoding run in parallel.
+ * The variants for int and long are generated by {@link generics.CodeGen}.
+ */
+public class LongCompressedSlice {
+
+	static final int BLOCK_SHIFT = 7;
+	static final int BLOCK_SIZE = 1<<BLOCK_SHIFT;
+	static final int BLOCK_MASK = BLOCK_SIZE-1;
+
+	final int size;
+	final long[] blockFirst;
+	final long[] blockMinDelta;
+	final byte[] blockBits;
+	/** word offset of each block's packed deltas, followed by the total number of words */
+	final int[] blockWords;
+	final long[] words;
+
+	private LongCompressedSlice(int size, long[] blockFirst, long[] blockMinDelta, byte[] blockBits, int[] blockWords, long[] words) {
+		this.size = size;
+		this.blockFirst = blockFirst;
+		this.blockMinDelta = blockMinDelta;
+		this.blockBits = blockBits;
+		this.blockWords = blockWords;
+		this.words = words;
+	}
+
+	///////////////////////////////
+	// Encoding
+	///////////////////////////////
+
+	/** encodes the range of the slice in parallel */
+	public static LongCompressedSlice encode(LongSlice slice) {
+		final long[] array = slice.array;
+		final int begin = slice.beginIdx;
+		final int size = slice.size;
+		final int numBlocks = (size+BLOCK_MASK) >>> BLOCK_SHIFT;
+		final long[] blockFirst = new long[numBlocks];
+		final long[] blockMinDelta = new long[numBlocks];
+		final byte[] blockBits = new byte[numBlocks];
+		final int[] blockWords = new int[numBlocks+1];
+		// pass 1: frame of reference and bit width per block
+		forEachBlockGroup(numBlocks, b->{
+			int from = begin+(b << BLOCK_SHIFT);
+			int to = Math.min(begin+size, from+BLOCK_SIZE);
+			long minDelta = 0;
+			for(int i = from+1; i < to; i++){
+				long delta = array[i]-array[i-1];
+				if(i == from+1 || delta < minDelta)
+					minDelta = delta;
+			}
+			long bits = 0;
+			for(int i = from+1; i < to; i++){
+				bits |= Natives.unsigned(array[i]-array[i-1]-minDelta);
+			}
+			int width = 64-Long.numberOfLeadingZeros(bits);
+			blockFirst[b] = array[from];
+			blockMinDelta[b] = minDelta;
+			blockBits[b] = (byte)width;
+			blockWords[b+1] = (int)(((long)(to-from-1)*width+63) >>> 6);
+		});
+		for(int b = 0; b < numBlocks; b++){
+			if((long)blockWords[b]+blockWords[b+1] > Integer.MAX_VALUE-8){
+				throw new IllegalArgumentException("Compressed size exceeds maximum array size");
+			}
+			blockWords[b+1] += blockWords[b];
+		}
+		// pass 2: bit packing, blocks start on word boundaries so that they can be written concurrently
+		final long[] words = new long[blockWords[numBlocks]];
+		forEachBlockGroup(numBlocks, b->{
+			int from = begin+(b << BLOCK_SHIFT);
+			int to = Math.min(begin+size, from+BLOCK_SIZE);
+			int width = blockBits[b];
+			if(width == 0)
+				return;
+			long minDelta = blockMinDelta[b];
+			long pos = (long)blockWords[b] << 6;
+			for(int i = from+1; i < to; i++, pos += width){
+				long v = Natives.unsigned(array[i]-array[i-1]-minDelta);
+				int w = (int)(pos >>> 6);
+				int shift = (int)(pos & 63);
+				words[w] |= v << shift;
+				if(shift+width > 64){
+					words[w+1] |= v >>> (64-shift);
+				}
+			}
+		});
+		return new LongCompressedSlice(size, blockFirst, blockMinDelta, blockBits, blockWords, words);
+	}
+
+	/** invokes the action for each block index in parallel, blocks are grouped into tasks */
+	private static void forEachBlockGroup(int numBlocks, IntConsumer action) {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		final int numGroups = Natives.numBlocks(pool, numBlocks, 64);
+		final int groupSize = (numBlocks+numGroups-1)/numGroups;
+		Natives.forEachBlock(pool, numGroups, g->{
+			int hi = Math.min(numBlocks, g*groupSize+groupSize);
+			for(int b = g*groupSize; b < hi; b++){
+				action.accept(b);
+			}
+		});
+	}
+
+	///////////////////////////////
+	// Decoding
+	///////////////////////////////
+
+	/**
+	 * Decodes the first n values of the block into out[offset, offset+n)
+	 * @param n number of values, at most the number of values of the block
+	 */
+	void decodeBlock(int block, int n, long[] out, int offset) {
+		if(n == 0)
+			return;
+		final int width = blockBits[block];
+		final long minDelta = blockMinDelta[block];
+		final long mask = width == 64 ? -1L : (1L << width)-1;
+		long v = blockFirst[block];
+		out[offset] = v;
+		long pos = (long)blockWords[block] << 6;
+		for(int j = 1; j < n; j++, pos += width){
+			long bits = 0;
+			if(width > 0){
+				int w = (int)(pos >>> 6);
+				int shift = (int)(pos & 63);
+				bits = words[w] >>> shift;
+				if(shift+width > 64){
+					bits |= words[w+1] << (64-shift);
+				}
+				bits &= mask;
+			}
+			v += minDelta + bits;
+			out[offset+j] = v;
+		}
+	}
+
+	private int blockLength(int block) {
+		return Math.min(BLOCK_SIZE, size-(block << BLOCK_SHIFT));
+	}
+
+	/**
+	 * Random access, sums the deltas of the block up to the value without allocating.
+	 * @throws IndexOutOfBoundsException when i is not within [0, size)
+	 */
+	public long getAt(int i) {
+		if(i < 0 || i >= size){
+			throw new IndexOutOfBoundsException(String.format("Index %d not within [0,%d)", i, size));
+		}
+		final int block = i >>> BLOCK_SHIFT;
+		final int n = i & BLOCK_MASK;
+		final int width = blockBits[block];
+		long v = blockFirst[block] + n*blockMinDelta[block];
+		if(width == 0)
+			return v;
+		final long mask = width == 64 ? -1L : (1L << width)-1;
+		long pos = (long)blockWords[block] << 6;
+		for(int j = 0; j < n; j++, pos += width){
+			int w = (int)(pos >>> 6);
+			int shift = (int)(pos & 63);
+			long bits = words[w] >>> shift;
+			if(shift+width > 64){
+				bits |= words[w+1] << (64-shift);
+			}
+			v += bits & mask;
+		}
+		return v;
+	}
+
+	/** @return all values, decoded in parallel */
+	public long[] toArray() {
+		final long[] result = new long[size];
+		final int numBlocks = blockBits.length;
+		forEachBlockGroup(numBlocks, b->decodeBlock(b, blockLength(b), result, b << BLOCK_SHIFT));
+		return result;
+	}
+
+	/** @return slice on a new array of all values, decoded in parallel */
+	public LongSlice decode() {
+		return LongSlice.get(toArray());
+	}
+
+	///////////////////////////////
+	// Streaming
+	///////////////////////////////
+
+	public Spliterator.OfLong spliterator() {
+		return new BlockSpliterator(0, size, Math.max(BLOCK_SIZE, Slice.estimateReasonableSplitSize(size)));
+	}
+
+	public java.util.stream.LongStream stream(boolean parallel) {
+		return Natives.stream(spliterator(), parallel);
+	}
+
+	public java.util.stream.LongStream stream() {
+		return stream(false);
+	}
+
+	public java.util.stream.LongStream parallelStream() {
+		return stream(true);
+	}
+
+	///////////////////////////////
+	// Size
+	///////////////////////////////
+
+	public int size() {
+		return size;
+	}
+
+	public int length() {
+		return size;
+	}
+
+	/** @return approximate number of bytes used by the encoded data */
+	public long compressedBytes() {
+		long blocks = blockBits.length;
+		return words.length*8L + blocks*(2L*Long.BYTES + 1 + 4);
+	}
+
+	/** @return size of the uncompressed values divided by the compressed size */
+	public double compressionRatio() {
+		return size*(double)Long.BYTES/Math.max(1, compressedBytes());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] %d values in %d bytes", getClass().getSimpleName(), size, compressedBytes());
+	}
+
+	///////////////////////////////
+	// Spliterator
+	///////////////////////////////
+
+	/** decodes one block at a time into a buffer, splits on block boundaries */
+	final class BlockSpliterator implements Spliterator.OfLong {
+
+		int index;
+		int endIndex;
+		final int minimumSplitSize;
+		final long[] buffer = new long[BLOCK_SIZE];
+		int bufferedBlock = -1;
+
+		/**
+		 * @param startIndex first index of the range (inclusive)
+		 * @param endIndex last index of the range (exclusive)
+		 */
+		BlockSpliterator(int startIndex, int endIndex, int minSplitSize) {
+			this.index = startIndex;
+			this.endIndex = endIndex;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		private void buffer(int block) {
+			if(block != bufferedBlock){
+				decodeBlock(block, blockLength(block), buffer, 0);
+				bufferedBlock = block;
+			}
+		}
+
+		@Override
+		public boolean tryAdvance(java.util.function.LongConsumer action) {
+			if(index < endIndex){
+				buffer(index >>> BLOCK_SHIFT);
+				action.accept(buffer[index & BLOCK_MASK]);
+				index++;
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(java.util.function.LongConsumer action) {
+			final int endIndex = this.endIndex;
+			while(index < endIndex){
+				int block = index >>> BLOCK_SHIFT;
+				buffer(block);
+				int blockEnd = Math.min(endIndex, (block+1) << BLOCK_SHIFT);
+				for(int i = index & BLOCK_MASK, n = blockEnd-(block << BLOCK_SHIFT); i < n; i++){
+					action.accept(buffer[i]);
+				}
+				index = blockEnd;
+			}
+		}
+
+		@Override
+		public BlockSpliterator trySplit() {
+			int midIdx = (index + (endIndex-index)/2) & ~BLOCK_MASK;
+			if(midIdx > index+minimumSplitSize && midIdx < endIndex){
+				BlockSpliterator split = new BlockSpliterator(index, midIdx, minimumSplitSize);
+				index = midIdx;
+				return split;
+			}
+			return null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return endIndex-index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | SIZED | SUBSIZED | IMMUTABLE;
+		}
+	}
+
+}
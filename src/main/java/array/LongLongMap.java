@@ -0,0 +1,292 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoPrimitiveMap.java */
+package array;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Open addressing hash map from native keys to native values without boxing.
+ * Entries are kept in power of two sized key and value arrays with linear probing
+ * (load factor at most 0.5), the zero key is stored separately as 0 marks free slots.
+ * Removal shifts following entries back instead of leaving tombstones.
+ * {@link #groupBy} aggregates values by key in parallel, each fork join leaf builds
+ * a partial map and partial maps are merged in a tree.
+ * The variants IntIntMap, IntDoubleMap, LongLongMap and LongDoubleMap are generated
+ * by {@link generics.CodeGen}.
+ */
+public class LongLongMap {
+
+	static final int MAX_CAPACITY = 1<<30;
+
+	long[] keys;
+	long[] values;
+	int mask;
+	/** number of entries with non zero keys */
+	int size;
+	int resizeThreshold;
+	boolean hasZeroKey;
+	long zeroValue;
+
+	public LongLongMap() {
+		this(16);
+	}
+
+	/** @param expectedSize number of entries the map can hold without resizing */
+	public LongLongMap(int expectedSize) {
+		allocate(tableSize(expectedSize));
+	}
+
+	private static int tableSize(int expectedSize) {
+		if(expectedSize >= MAX_CAPACITY/2)
+			return MAX_CAPACITY;
+		return Math.max(8, Integer.highestOneBit(Math.max(1, expectedSize*2-1))<<1);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new long[capacity];
+		mask = capacity-1;
+		resizeThreshold = capacity == MAX_CAPACITY ? capacity-1 : capacity/2;
+	}
+
+	private int home(long key) {
+		return (int)Natives.mix64(key) & mask;
+	}
+
+	/** @return slot of the key or -(free slot)-1 when absent, key must not be 0 */
+	private int find(long key) {
+		final long[] keys = this.keys;
+		int i = home(key);
+		while(true){
+			long k = keys[i];
+			if(k == key)
+				return i;
+			if(k == 0)
+				return -i-1;
+			i = (i+1) & mask;
+		}
+	}
+
+	///////////////////////////////
+	// Access
+	///////////////////////////////
+
+	public boolean containsKey(long key) {
+		return key == 0 ? hasZeroKey : find(key) >= 0;
+	}
+
+	/** @return value of the key or defaultValue when absent */
+	public long get(long key, long defaultValue) {
+		if(key == 0)
+			return hasZeroKey ? zeroValue : defaultValue;
+		int i = find(key);
+		return i >= 0 ? values[i] : defaultValue;
+	}
+
+	public void put(long key, long value) {
+		if(key == 0){
+			hasZeroKey = true;
+			zeroValue = value;
+			return;
+		}
+		int i = find(key);
+		if(i >= 0){
+			values[i] = value;
+		} else {
+			insert(-i-1, key, value);
+		}
+	}
+
+	/**
+	 * Puts the value when the key is absent, otherwise replaces the value by
+	 * op(old value, value), e.g. {@code (a,b)->a+b} to sum values per key.
+	 * @return new value of the key
+	 */
+	public long merge(long key, long value, LongExpression.BinaryOp op) {
+		if(key == 0){
+			zeroValue = hasZeroKey ? op.apply(zeroValue, value) : value;
+			hasZeroKey = true;
+			return zeroValue;
+		}
+		int i = find(key);
+		if(i >= 0){
+			return values[i] = op.apply(values[i], value);
+		} else {
+			insert(-i-1, key, value);
+			return value;
+		}
+	}
+
+	private void insert(int slot, long key, long value) {
+		if(size >= resizeThreshold){
+			if(keys.length == MAX_CAPACITY){
+				throw new IllegalStateException("Map is full");
+			}
+			rehash(keys.length*2);
+			slot = -find(key)-1;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		allocate(capacity);
+		for(int j = 0; j < oldKeys.length; j++){
+			long key = oldKeys[j];
+			if(key != 0){
+				int i = home(key);
+				while(keys[i] != 0){
+					i = (i+1) & mask;
+				}
+				keys[i] = key;
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	/** @return true when the key was present */
+	public boolean remove(long key) {
+		if(key == 0){
+			boolean had = hasZeroKey;
+			hasZeroKey = false;
+			zeroValue = 0;
+			return had;
+		}
+		int i = find(key);
+		if(i < 0)
+			return false;
+		// shift back following entries of the probe sequence that would not be found anymore
+		int j = i;
+		while(true){
+			j = (j+1) & mask;
+			long k = keys[j];
+			if(k == 0)
+				break;
+			int home = home(k);
+			boolean inGap = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+			if(inGap){
+				keys[i] = k;
+				values[i] = values[j];
+				i = j;
+			}
+		}
+		keys[i] = 0;
+		values[i] = 0;
+		size--;
+		return true;
+	}
+
+	public int size() {
+		return size + (hasZeroKey ? 1:0);
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		java.util.Arrays.fill(keys, 0);
+		java.util.Arrays.fill(values, 0);
+		size = 0;
+		hasZeroKey = false;
+		zeroValue = 0;
+	}
+
+	///////////////////////////////
+	// Bulk Operations
+	///////////////////////////////
+
+	public void forEach(EntryConsumer action) {
+		if(hasZeroKey)
+			action.accept(0, zeroValue);
+		for(int i = 0; i < keys.length; i++){
+			if(keys[i] != 0)
+				action.accept(keys[i], values[i]);
+		}
+	}
+
+	/** @return keys in the same order as {@link #values()} */
+	public long[] keys() {
+		long[] result = new long[size()];
+		int n = hasZeroKey ? 1:0;
+		for(int i = 0; i < keys.length; i++){
+			if(keys[i] != 0)
+				result[n++] = keys[i];
+		}
+		return result;
+	}
+
+	/** @return values in the same order as {@link #keys()} */
+	public long[] values() {
+		long[] result = new long[size()];
+		int n = 0;
+		if(hasZeroKey)
+			result[n++] = zeroValue;
+		for(int i = 0; i < keys.length; i++){
+			if(keys[i] != 0)
+				result[n++] = values[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Merges all entries of the other map into this one.
+	 * @return this
+	 * @see #merge
+	 */
+	public LongLongMap mergeAll(LongLongMap other, LongExpression.BinaryOp op) {
+		if(other.hasZeroKey)
+			merge(0, other.zeroValue, op);
+		for(int i = 0; i < other.keys.length; i++){
+			if(other.keys[i] != 0)
+				merge(other.keys[i], other.values[i], op);
+		}
+		return this;
+	}
+
+	@FunctionalInterface
+	public static interface EntryConsumer {
+		public void accept(long key, long value);
+	}
+
+	///////////////////////////////
+	// Group By
+	///////////////////////////////
+
+	/**
+	 * Parallel aggregation of the values by their keys, e.g. the sum of the values per key
+	 * with {@code (a,b)->a+b}. Each fork join leaf builds a partial map of its block and
+	 * partial maps are merged (the smaller into the larger) in a tree.
+	 * @param reducer associative and commutative operator
+	 * @throws IllegalArgumentException when slices differ in size
+	 */
+	public static LongLongMap groupBy(LongSlice keys, LongSlice values, LongExpression.BinaryOp reducer) {
+		if(keys.size != values.size){
+			throw new IllegalArgumentException(String.format("Size mismatch: %d and %d", keys.size, values.size));
+		}
+		final long[] k = keys.array;
+		final long[] v = values.array;
+		final int kBegin = keys.beginIdx;
+		final int vBegin = values.beginIdx;
+		final int n = keys.size;
+		final ForkJoinPool pool = ForkJoinPool.commonPool();
+		final int numBlocks = Natives.numBlocks(pool, n, Slice.estimateReasonableSplitSize(n));
+		final int blockSize = (n+numBlocks-1)/numBlocks;
+		return Natives.reduceBlocks(pool, numBlocks, b->{
+			LongLongMap map = new LongLongMap();
+			int hi = Math.min(n, b*blockSize+blockSize);
+			for(int i = b*blockSize; i < hi; i++){
+				map.merge(k[kBegin+i], v[vBegin+i], reducer);
+			}
+			return map;
+		}, (left, right)->left.size() >= right.size() ? left.mergeAll(right, reducer) : right.mergeAll(left, reducer));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] size=%d", getClass().getSimpleName(), size());
+	}
+
+}
@@ -0,0 +1,178 @@
+package array;
+
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Static helpers for the generated native classes. Methods that depend on the
+ * native type are overloaded so that generated code can call them uniformly.
+ */
+final class Natives {
+
+	private Natives(){}
+
+	///////////////////////////////
+	// Sort Keys
+	///////////////////////////////
+
+	/*
+	 * Sort keys map values to longs whose unsigned order (in the lower SIZE bits)
+	 * is the ascending order of the values. For floating point types -0.0 comes
+	 * before 0.0 and NaN comes last, as in Arrays.sort.
+	 */
+
+	static long sortKey(int x) {return (x ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;}
+
+	static long sortKey(long x) {return x ^ Long.MIN_VALUE;}
+
+	static long sortKey(float x) {
+		int bits = Float.floatToIntBits(x);
+		return (bits ^ ((bits >> 31) | Integer.MIN_VALUE)) & 0xFFFFFFFFL;
+	}
+
+	static long sortKey(double x) {
+		long bits = Double.doubleToLongBits(x);
+		return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+	}
+
+	static long sortKey(short x) {return (x & 0xFFFF) ^ 0x8000;}
+
+	static long sortKey(char x) {return x;}
+
+	static long sortKey(byte x) {return (x & 0xFF) ^ 0x80;}
+
+	/** comparison in the order of sortKey, i.e. for floating point types as in Arrays.sort */
+	static boolean less(int a, int b) {return a < b;}
+
+	static boolean less(long a, long b) {return a < b;}
+
+	static boolean less(float a, float b) {return Float.compare(a, b) < 0;}
+
+	static boolean less(double a, double b) {return Double.compare(a, b) < 0;}
+
+	static boolean less(short a, short b) {return a < b;}
+
+	static boolean less(char a, char b) {return a < b;}
+
+	static boolean less(byte a, byte b) {return a < b;}
+
+	///////////////////////////////
+	// Parallel Blocks
+	///////////////////////////////
+
+	/** @return number of blocks to split n elements into for the specified pool, blocks have at least minBlockSize elements */
+	static int numBlocks(ForkJoinPool pool, int n, int minBlockSize) {
+		final int tasksPerProcessor = 4;
+		return Math.max(1, Math.min(pool.getParallelism()*tasksPerProcessor, n/Math.max(1, minBlockSize)));
+	}
+
+	/** invokes the action for each block index in [0, numBlocks) in parallel on the specified pool */
+	static void forEachBlock(ForkJoinPool pool, int numBlocks, IntConsumer action) {
+		pool.invoke(new BlockTask(0, numBlocks, action));
+	}
+
+	/**
+	 * computes a result per block index in [0, numBlocks) in parallel on the specified pool
+	 * and merges the results of neighboring blocks in a tree
+	 */
+	static <R> R reduceBlocks(ForkJoinPool pool, int numBlocks, IntFunction<R> leaf, BinaryOperator<R> merge) {
+		return pool.invoke(new BlockReduceTask<R>(0, numBlocks, leaf, merge));
+	}
+
+	static final class BlockTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final int from;
+		final int to;
+		final IntConsumer action;
+
+		BlockTask(int from, int to, IntConsumer action) {
+			this.from = from;
+			this.to = to;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if(to-from > 1){
+				int mid = from + (to-from)/2;
+				invokeAll(new BlockTask(from, mid, action), new BlockTask(mid, to, action));
+			} else if(to > from){
+				action.accept(from);
+			}
+		}
+	}
+
+	static final class BlockReduceTask<R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+
+		final int from;
+		final int to;
+		final IntFunction<R> leaf;
+		final BinaryOperator<R> merge;
+
+		BlockReduceTask(int from, int to, IntFunction<R> leaf, BinaryOperator<R> merge) {
+			this.from = from;
+			this.to = to;
+			this.leaf = leaf;
+			this.merge = merge;
+		}
+
+		@Override
+		protected R compute() {
+			if(to-from > 1){
+				int mid = from + (to-from)/2;
+				BlockReduceTask<R> left = new BlockReduceTask<>(from, mid, leaf, merge);
+				BlockReduceTask<R> right = new BlockReduceTask<>(mid, to, leaf, merge);
+				invokeAll(left, right);
+				return merge.apply(left.join(), right.join());
+			} else {
+				return leaf.apply(from);
+			}
+		}
+	}
+
+	///////////////////////////////
+	// Hashing
+	///////////////////////////////
+
+	/** 64 bit finalizer of MurmurHash3, a bijection with good avalanche behavior */
+	static long mix64(long x) {
+		x ^= x >>> 33;
+		x *= 0xff51afd7ed558ccdL;
+		x ^= x >>> 33;
+		x *= 0xc4ceb9fe1a85ec53L;
+		x ^= x >>> 33;
+		return x;
+	}
+
+	/** @return bits of the value as unsigned long (no sign extension) */
+	static long unsigned(int x) {
+		return x & 0xffffffffL;
+	}
+
+	static long unsigned(long x) {
+		return x;
+	}
+
+	///////////////////////////////
+	// Streams
+	///////////////////////////////
+
+	static IntStream stream(Spliterator.OfInt spliterator, boolean parallel) {
+		return StreamSupport.intStream(spliterator, parallel);
+	}
+
+	static LongStream stream(Spliterator.OfLong spliterator, boolean parallel) {
+		return StreamSupport.longStream(spliterator, parallel);
+	}
+
+}
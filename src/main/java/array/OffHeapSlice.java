@@ -0,0 +1,723 @@
+/* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoOffHeapSlice.java */
+package array;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import array.Slice.ArrayAccessor;
+
+/**
+ * Native values stored outside of the Java heap in direct {@link ByteBuffer}s
+ * or in memory mapped files.
+ * The values are split into chunks of at most 1GB so that up to 2^31-1 values
+ * of any type can be stored (subject to the JVM's -XX:MaxDirectMemorySize).
+ * The values are accessed through {@link #slice()} which works like any other
+ * {@link Slice}, including parallel streaming.
+ * <p>
+ * Splits of the parallel streams are aligned to page and chunk boundaries.
+ * <p>
+ * The memory is released (or unmapped) on {@link #close()} and must not be accessed afterwards.
+ * Closing while a traversal is in progress results in undefined behavior.
+ * Copies of the slice ({@link Slice#copy()}) allocate new direct memory which is
+ * not owned by this object and released by the garbage collector.
+ */
+public class OffHeapSlice<T> implements AutoCloseable {
+
+	static final int MAX_CHUNK_SHIFT = 30;
+	static final int PAGE_SIZE = 4096;
+
+	final ChunkedBufferAccessor<T> accessor;
+	final int size;
+	final Slice<T> slice;
+	volatile boolean closed = false;
+
+	OffHeapSlice(ChunkedBufferAccessor<T> accessor, int size) {
+		this.accessor = accessor;
+		this.size = size;
+		this.slice = Slice.get(accessor, 0, size);
+	}
+
+	/** @throws IllegalStateException when already closed */
+	public Slice<T> slice() {
+		if(closed){
+			throw new IllegalStateException("Off heap memory has already been released");
+		}
+		return slice;
+	}
+
+	public Stream<ArrayAccessor<T>> stream(boolean parallel) {
+		return slice().stream(parallel);
+	}
+
+	public int length() {
+		return size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Writes changes of a memory mapped slice to the file.
+	 * Does nothing when the slice is not memory mapped.
+	 */
+	public void force() {
+		slice();
+		for(ByteBuffer chunk: accessor.chunks){
+			if(chunk instanceof MappedByteBuffer){
+				((MappedByteBuffer)chunk).force();
+			}
+		}
+	}
+
+	/**
+	 * Releases the off heap memory. The accessors of the slice and of all views on it
+	 * drop their references to the memory first, so that accessing them afterwards
+	 * throws a NullPointerException instead of reading freed memory.
+	 * Closing while another thread still traverses the slice is undefined (the traversal
+	 * may already hold a reference and read freed memory), traversals have to complete
+	 * before the slice is closed.
+	 */
+	@Override
+	public synchronized void close() {
+		if(!closed){
+			closed = true;
+			accessor.release();
+		}
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	public static OffHeapSlice<Integer> allocateInt(int length){
+		int shift = chunkShift(Integer.BYTES);
+		return new OffHeapSlice<>(new IntBufferAccessor(allocateChunks(length, shift, Integer.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Integer> mapInt(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Integer.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Integer.BYTES);
+		return new OffHeapSlice<>(new IntBufferAccessor(chunks, shift), lengthOf(chunks, Integer.BYTES));
+	}
+
+	public static OffHeapSlice<Long> allocateLong(int length){
+		int shift = chunkShift(Long.BYTES);
+		return new OffHeapSlice<>(new LongBufferAccessor(allocateChunks(length, shift, Long.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Long> mapLong(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Long.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Long.BYTES);
+		return new OffHeapSlice<>(new LongBufferAccessor(chunks, shift), lengthOf(chunks, Long.BYTES));
+	}
+
+	public static OffHeapSlice<Float> allocateFloat(int length){
+		int shift = chunkShift(Float.BYTES);
+		return new OffHeapSlice<>(new FloatBufferAccessor(allocateChunks(length, shift, Float.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Float> mapFloat(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Float.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Float.BYTES);
+		return new OffHeapSlice<>(new FloatBufferAccessor(chunks, shift), lengthOf(chunks, Float.BYTES));
+	}
+
+	public static OffHeapSlice<Double> allocateDouble(int length){
+		int shift = chunkShift(Double.BYTES);
+		return new OffHeapSlice<>(new DoubleBufferAccessor(allocateChunks(length, shift, Double.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Double> mapDouble(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Double.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Double.BYTES);
+		return new OffHeapSlice<>(new DoubleBufferAccessor(chunks, shift), lengthOf(chunks, Double.BYTES));
+	}
+
+	public static OffHeapSlice<Short> allocateShort(int length){
+		int shift = chunkShift(Short.BYTES);
+		return new OffHeapSlice<>(new ShortBufferAccessor(allocateChunks(length, shift, Short.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Short> mapShort(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Short.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Short.BYTES);
+		return new OffHeapSlice<>(new ShortBufferAccessor(chunks, shift), lengthOf(chunks, Short.BYTES));
+	}
+
+	public static OffHeapSlice<Character> allocateChar(int length){
+		int shift = chunkShift(Character.BYTES);
+		return new OffHeapSlice<>(new CharBufferAccessor(allocateChunks(length, shift, Character.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Character> mapChar(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Character.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Character.BYTES);
+		return new OffHeapSlice<>(new CharBufferAccessor(chunks, shift), lengthOf(chunks, Character.BYTES));
+	}
+
+	public static OffHeapSlice<Byte> allocateByte(int length){
+		int shift = chunkShift(Byte.BYTES);
+		return new OffHeapSlice<>(new ByteBufferAccessor(allocateChunks(length, shift, Byte.BYTES), shift), length);
+	}
+	
+	/**
+	 * Memory maps the specified file of native values. Trailing bytes
+	 * that do not make up a whole value are not mapped.
+	 * @param mode {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}, or {@link MapMode#PRIVATE}
+	 * for a writable copy in direct buffers that only needs read access to the file
+	 * @param order byte order of the values in the file
+	 */
+	public static OffHeapSlice<Byte> mapByte(Path file, MapMode mode, ByteOrder order) throws IOException {
+		int shift = chunkShift(Byte.BYTES);
+		ByteBuffer[] chunks = mapChunks(file, mode, order, shift, Byte.BYTES);
+		return new OffHeapSlice<>(new ByteBufferAccessor(chunks, shift), lengthOf(chunks, Byte.BYTES));
+	}
+
+
+	static int chunkShift(int bytesPerElement) {
+		return MAX_CHUNK_SHIFT - Integer.numberOfTrailingZeros(bytesPerElement);
+	}
+
+	static ByteBuffer[] allocateChunks(int length, int shift, int bytesPerElement) {
+		if(length < 0){
+			throw new IllegalArgumentException("Negative length " + length);
+		}
+		long chunkLength = 1L<<shift;
+		int numChunks = (int)((length+chunkLength-1)>>>shift);
+		ByteBuffer[] chunks = new ByteBuffer[numChunks];
+		for(int k = 0; k < numChunks; k++){
+			int n = (int)Math.min(chunkLength, length-k*chunkLength);
+			chunks[k] = ByteBuffer.allocateDirect(n*bytesPerElement).order(ByteOrder.nativeOrder());
+		}
+		return chunks;
+	}
+
+	static ByteBuffer[] mapChunks(Path file, MapMode mode, ByteOrder order, int shift, int bytesPerElement) throws IOException {
+		StandardOpenOption[] options = mode == MapMode.READ_WRITE ?
+				new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}:
+				new StandardOpenOption[]{StandardOpenOption.READ};
+		try(FileChannel channel = FileChannel.open(file, options)){
+			long length = channel.size()/bytesPerElement;
+			if(length > Integer.MAX_VALUE){
+				throw new IllegalArgumentException(String.format("File %s has too many values (%d) for a slice", file, length));
+			}
+			long chunkLength = 1L<<shift;
+			int numChunks = (int)((length+chunkLength-1)>>>shift);
+			ByteBuffer[] chunks = new ByteBuffer[numChunks];
+			for(int k = 0; k < numChunks; k++){
+				long n = Math.min(chunkLength, length-k*chunkLength);
+				long position = k*chunkLength*bytesPerElement;
+				if(mode == MapMode.PRIVATE){
+					// FileChannel.map requires a writable channel for private mappings, read a copy instead
+					ByteBuffer chunk = ByteBuffer.allocateDirect((int)(n*bytesPerElement));
+					while(chunk.hasRemaining()){
+						if(channel.read(chunk, position+chunk.position()) < 0)
+							throw new EOFException("File " + file + " was truncated while reading");
+					}
+					chunk.clear();
+					chunks[k] = chunk.order(order);
+				} else {
+					chunks[k] = channel.map(mode, position, n*bytesPerElement).order(order);
+				}
+			}
+			return chunks;
+		}
+	}
+
+	/** heap buffers on consecutive ranges of the byte array, trailing bytes that do not make up a whole value are left out */
+	static ByteBuffer[] wrapChunks(byte[] bytes, int begin, int byteLength, ByteOrder order, int shift, int bytesPerElement) {
+		int length = byteLength/bytesPerElement;
+		long chunkLength = 1L<<shift;
+		int numChunks = (int)((length+chunkLength-1)>>>shift);
+		ByteBuffer[] chunks = new ByteBuffer[numChunks];
+		for(int k = 0; k < numChunks; k++){
+			long n = Math.min(chunkLength, length-k*chunkLength);
+			chunks[k] = ByteBuffer.wrap(bytes, (int)(begin+k*chunkLength*bytesPerElement), (int)(n*bytesPerElement)).slice().order(order);
+		}
+		return chunks;
+	}
+
+	static int lengthOf(ByteBuffer[] chunks, int bytesPerElement) {
+		long length = 0;
+		for(ByteBuffer chunk: chunks){
+			length += chunk.capacity()/bytesPerElement;
+		}
+		return (int)length;
+	}
+
+	/**
+	 * Releases the memory of a direct buffer immediately instead of waiting for
+	 * the garbage collector. Does nothing when the buffer cannot be released
+	 * on this JVM.
+	 */
+	static void freeDirectBuffer(ByteBuffer buffer) {
+		if(buffer == null || !buffer.isDirect())
+			return;
+		try {
+			// java 9 and later
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			return;
+		} catch (NoSuchMethodException e) {
+			// java 8, try cleaner below
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return;
+		}
+		try {
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if(cleaner != null){
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// leave it to the garbage collector
+		}
+	}
+
+	static IntBuffer asIntBuffer(ByteBuffer b) {return b.asIntBuffer();}
+	static LongBuffer asLongBuffer(ByteBuffer b) {return b.asLongBuffer();}
+	static FloatBuffer asFloatBuffer(ByteBuffer b) {return b.asFloatBuffer();}
+	static DoubleBuffer asDoubleBuffer(ByteBuffer b) {return b.asDoubleBuffer();}
+	static ShortBuffer asShortBuffer(ByteBuffer b) {return b.asShortBuffer();}
+	static CharBuffer asCharBuffer(ByteBuffer b) {return b.asCharBuffer();}
+	static ByteBuffer asByteBuffer(ByteBuffer b) {return b.duplicate();}
+
+	///////////////////////////////
+	// Accessors
+	///////////////////////////////
+
+	static abstract class ChunkedBufferAccessor<T> extends ArrayAccessor<T> {
+		/** owners of the memory, shared by clones */
+		final ByteBuffer[] chunks;
+		final int shift;
+		final int mask;
+		final int pageMask;
+
+		ChunkedBufferAccessor(ByteBuffer[] chunks, int shift, int bytesPerElement) {
+			this.chunks = chunks;
+			this.shift = shift;
+			this.mask = (1<<shift)-1;
+			this.pageMask = Math.max(1, PAGE_SIZE/bytesPerElement)-1;
+		}
+
+		/** splits on a chunk boundary if there is one near the middle, otherwise on a page boundary */
+		@Override
+		protected int alignSplit(int from, int mid, int to) {
+			long chunkBoundary = ((long)mid + (1L<<(shift-1))) & ~(long)mask;
+			long quarter = ((long)to-from)/4;
+			if(chunkBoundary > from && chunkBoundary <= to && Math.abs(chunkBoundary-mid) <= quarter){
+				return (int)chunkBoundary;
+			}
+			int pageBoundary = mid & ~pageMask;
+			return pageBoundary > from ? pageBoundary:mid;
+		}
+
+		/** removes the views on the chunks (shared by clones) so that they cannot be used after release */
+		abstract void invalidateViews();
+
+		/** drops all references to the memory before freeing it, accessors throw afterwards */
+		void release() {
+			invalidateViews();
+			for(int k = 0; k < chunks.length; k++){
+				freeDirectBuffer(chunks[k]);
+				chunks[k] = null;
+			}
+		}
+
+		ByteBuffer[] copyChunks() {
+			ByteBuffer[] copies = new ByteBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				ByteBuffer src = chunks[k].duplicate();
+				src.clear();
+				copies[k] = ByteBuffer.allocateDirect(src.capacity()).order(chunks[k].order());
+				copies[k].put(src).clear();
+			}
+			return copies;
+		}
+	}
+
+	static class IntBufferAccessor extends ChunkedBufferAccessor<Integer> {
+		final IntBuffer[] views;
+		public IntBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Integer.BYTES);
+			this.views = new IntBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asIntBuffer(chunks[k]);
+			}
+		}
+		private IntBufferAccessor(ByteBuffer[] chunks, int shift, IntBuffer[] views) {
+			super(chunks, shift, Integer.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Integer get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Integer e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Integer get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Integer e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected IntBufferAccessor clone() {
+			IntBufferAccessor clon = new IntBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected IntBufferAccessor copy() {
+			IntBufferAccessor cpy = new IntBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected IntBufferAccessor copyRange(int from, int length) {
+			IntBufferAccessor cpy = new IntBufferAccessor(allocateChunks(length, shift, Integer.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+	static class LongBufferAccessor extends ChunkedBufferAccessor<Long> {
+		final LongBuffer[] views;
+		public LongBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Long.BYTES);
+			this.views = new LongBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asLongBuffer(chunks[k]);
+			}
+		}
+		private LongBufferAccessor(ByteBuffer[] chunks, int shift, LongBuffer[] views) {
+			super(chunks, shift, Long.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Long get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Long e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Long get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Long e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected LongBufferAccessor clone() {
+			LongBufferAccessor clon = new LongBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected LongBufferAccessor copy() {
+			LongBufferAccessor cpy = new LongBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected LongBufferAccessor copyRange(int from, int length) {
+			LongBufferAccessor cpy = new LongBufferAccessor(allocateChunks(length, shift, Long.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+	static class FloatBufferAccessor extends ChunkedBufferAccessor<Float> {
+		final FloatBuffer[] views;
+		public FloatBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Float.BYTES);
+			this.views = new FloatBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asFloatBuffer(chunks[k]);
+			}
+		}
+		private FloatBufferAccessor(ByteBuffer[] chunks, int shift, FloatBuffer[] views) {
+			super(chunks, shift, Float.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Float get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Float e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Float get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Float e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected FloatBufferAccessor clone() {
+			FloatBufferAccessor clon = new FloatBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected FloatBufferAccessor copy() {
+			FloatBufferAccessor cpy = new FloatBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected FloatBufferAccessor copyRange(int from, int length) {
+			FloatBufferAccessor cpy = new FloatBufferAccessor(allocateChunks(length, shift, Float.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+	static class DoubleBufferAccessor extends ChunkedBufferAccessor<Double> {
+		final DoubleBuffer[] views;
+		public DoubleBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Double.BYTES);
+			this.views = new DoubleBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asDoubleBuffer(chunks[k]);
+			}
+		}
+		private DoubleBufferAccessor(ByteBuffer[] chunks, int shift, DoubleBuffer[] views) {
+			super(chunks, shift, Double.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Double get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Double e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Double get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Double e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected DoubleBufferAccessor clone() {
+			DoubleBufferAccessor clon = new DoubleBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected DoubleBufferAccessor copy() {
+			DoubleBufferAccessor cpy = new DoubleBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected DoubleBufferAccessor copyRange(int from, int length) {
+			DoubleBufferAccessor cpy = new DoubleBufferAccessor(allocateChunks(length, shift, Double.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+	static class ShortBufferAccessor extends ChunkedBufferAccessor<Short> {
+		final ShortBuffer[] views;
+		public ShortBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Short.BYTES);
+			this.views = new ShortBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asShortBuffer(chunks[k]);
+			}
+		}
+		private ShortBufferAccessor(ByteBuffer[] chunks, int shift, ShortBuffer[] views) {
+			super(chunks, shift, Short.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Short get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Short e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Short get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Short e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected ShortBufferAccessor clone() {
+			ShortBufferAccessor clon = new ShortBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected ShortBufferAccessor copy() {
+			ShortBufferAccessor cpy = new ShortBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected ShortBufferAccessor copyRange(int from, int length) {
+			ShortBufferAccessor cpy = new ShortBufferAccessor(allocateChunks(length, shift, Short.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+	static class CharBufferAccessor extends ChunkedBufferAccessor<Character> {
+		final CharBuffer[] views;
+		public CharBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Character.BYTES);
+			this.views = new CharBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asCharBuffer(chunks[k]);
+			}
+		}
+		private CharBufferAccessor(ByteBuffer[] chunks, int shift, CharBuffer[] views) {
+			super(chunks, shift, Character.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Character get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Character e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Character get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Character e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected CharBufferAccessor clone() {
+			CharBufferAccessor clon = new CharBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected CharBufferAccessor copy() {
+			CharBufferAccessor cpy = new CharBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected CharBufferAccessor copyRange(int from, int length) {
+			CharBufferAccessor cpy = new CharBufferAccessor(allocateChunks(length, shift, Character.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+	static class ByteBufferAccessor extends ChunkedBufferAccessor<Byte> {
+		final ByteBuffer[] views;
+		public ByteBufferAccessor(ByteBuffer[] chunks, int shift) {
+			super(chunks, shift, Byte.BYTES);
+			this.views = new ByteBuffer[chunks.length];
+			for(int k = 0; k < chunks.length; k++){
+				views[k] = asByteBuffer(chunks[k]);
+			}
+		}
+		private ByteBufferAccessor(ByteBuffer[] chunks, int shift, ByteBuffer[] views) {
+			super(chunks, shift, Byte.BYTES);
+			this.views = views;
+		}
+		@Override
+		public Byte get() {return views[index>>>shift].get(index&mask);}
+		@Override
+		public void set(Byte e) {views[index>>>shift].put(index&mask, e);}
+		@Override
+		protected Byte get(int i) {return views[i>>>shift].get(i&mask);}
+		@Override
+		protected void set(int i, Byte e) {views[i>>>shift].put(i&mask, e);}
+		@Override
+		void invalidateViews() {Arrays.fill(views, null);}
+		@Override
+		protected ByteBufferAccessor clone() {
+			ByteBufferAccessor clon = new ByteBufferAccessor(chunks, shift, views);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected ByteBufferAccessor copy() {
+			ByteBufferAccessor cpy = new ByteBufferAccessor(copyChunks(), shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		@Override
+		protected ByteBufferAccessor copyRange(int from, int length) {
+			ByteBufferAccessor cpy = new ByteBufferAccessor(allocateChunks(length, shift, Byte.BYTES), shift);
+			for(int i = 0; i < length; i++){
+				cpy.views[i>>>shift].put(i&mask, views[(from+i)>>>shift].get((from+i)&mask));
+			}
+			return cpy;
+		}
+	}
+
+
+}
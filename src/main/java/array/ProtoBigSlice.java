@@ -0,0 +1,383 @@
+package array;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Slice with {@code long} indices that spans a chunked array of arrays and
+ * can therefore hold more than 2^31 elements. All chunks except for the last
+ * have the same power of two length. Parallel streams split on chunk boundaries.
+ */
+public class ProtoBigSlice<T> implements Iterable<ProtoBigSlice.BigAccessor<T>>{
+
+	static final int DEFAULT_CHUNK_SHIFT = 22;
+
+	final BigAccessor<T> aa;
+	final long size;
+	final long beginIdx;
+
+	private ProtoBigSlice(BigAccessor<T> accessor, long beginIdx, long size) {
+		this.aa = accessor;
+		this.size = size;
+		this.beginIdx = beginIdx;
+	}
+
+	@Override
+	public Iterator<BigAccessor<T>> iterator() {
+		return new BigAccessorIterator<T>(beginIdx, beginIdx+size, aa);
+	}
+
+	@Override
+	public Spliterator<BigAccessor<T>> spliterator() {
+		return new BigAccessorSpliterator<T>(beginIdx, beginIdx+size-1, estimateReasonableSplitSize(size), aa);
+	}
+
+	public Stream<BigAccessor<T>> stream(boolean parallel) {
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+
+	public Stream<BigAccessor<T>> stream() {
+		return stream(false);
+	}
+
+	public Stream<BigAccessor<T>> parallelStream() {
+		return stream(true);
+	}
+
+	@Override
+	public void forEach(Consumer<? super BigAccessor<T>> action) {
+		Iterable.super.forEach(action);
+	}
+
+	public void forEachParallel(Consumer<? super BigAccessor<T>> action) {
+		parallelStream().forEach(action);
+	}
+
+	public ProtoBigSlice<T> copy() {
+		return new ProtoBigSlice<T>(aa.copy(),beginIdx,size);
+	}
+
+	public T getAt(long i){
+		return aa.get(i);
+	}
+
+	public void setAt(long i, T e){
+		aa.set(i, e);
+	}
+
+	public long length() {
+		return size;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	public long getBeginIdx() {
+		return beginIdx;
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	public static <T> ProtoBigSlice<T> get(T[][] chunks, long beginIdx, long length){
+		return new ProtoBigSlice<T>(new GenericBigAccessor<T>(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static <T> ProtoBigSlice<T> get(T[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	////MKNATIVEONLY>>>>
+	public static ProtoBigSlice</*G*/Double/**/> get(/*N*/double/**/[][] chunks, long beginIdx, long length){
+		return new ProtoBigSlice</*G*/Double/**/>(new /*RPLC:Double*/DoubleBigAccessor/**/(chunks, chunkShift(chunks)), beginIdx, length);
+	}
+
+	public static ProtoBigSlice</*G*/Double/**/> get(/*N*/double/**/[][] chunks){
+		return get(chunks, 0, totalLength(chunks));
+	}
+
+	public static ProtoBigSlice</*G*/Double/**/> /*RPLC:Double*/allocateDouble/**/(long length){
+		long chunkLength = 1L<<DEFAULT_CHUNK_SHIFT;
+		/*N*/double/**/[][] chunks = new /*N*/double/**/[numChunks(length, chunkLength)][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new /*N*/double/**/[(int)Math.min(chunkLength, length-k*chunkLength)];
+		}
+		return get(chunks, 0, length);
+	}
+	////<<<<
+
+	static int numChunks(long length, long chunkLength) {
+		long numChunks = (length+chunkLength-1)/chunkLength;
+		if(length < 0 || numChunks > Integer.MAX_VALUE-8){
+			throw new IllegalArgumentException("Unsupported length " + length);
+		}
+		return (int)numChunks;
+	}
+
+	/**
+	 * @return log2 of the chunk length, for a single chunk of any length log2 of the next power of two
+	 * @throws IllegalArgumentException when chunks are not of the same power of two length (except for the last)
+	 */
+	static int chunkShift(Object[] chunks) {
+		if(chunks.length == 0)
+			return DEFAULT_CHUNK_SHIFT;
+		int chunkLength = Array.getLength(chunks[0]);
+		if(chunks.length == 1){
+			// the only chunk is also the last, index math only needs a power of two at least as large
+			return chunkLength <= 1 ? 0 : 32-Integer.numberOfLeadingZeros(chunkLength-1);
+		}
+		if(Integer.bitCount(chunkLength) != 1){
+			throw new IllegalArgumentException("Chunk length is not a power of two: " + chunkLength);
+		}
+		for(int k = 1; k < chunks.length; k++){
+			int len = Array.getLength(chunks[k]);
+			if(len != chunkLength && (k < chunks.length-1 || len > chunkLength)){
+				throw new IllegalArgumentException(String.format("Chunk %d has length %d, expected %d", k, len, chunkLength));
+			}
+		}
+		return Integer.numberOfTrailingZeros(chunkLength);
+	}
+
+	static long totalLength(Object[] chunks) {
+		long length = 0;
+		for(Object chunk: chunks){
+			length += Array.getLength(chunk);
+		}
+		return length;
+	}
+
+	///////////////////////////////
+	// Static Streaming
+	///////////////////////////////
+
+	static long estimateReasonableSplitSize(long length) {
+		final int tasksPerProcessor = 16;
+		final int concurrentLimit = Runtime.getRuntime().availableProcessors()*tasksPerProcessor;
+		final int minReasonable = 512;
+		return Math.max(minReasonable, Long.highestOneBit(length/concurrentLimit));
+	}
+
+	///////////////////////////////
+	// Accessors
+	///////////////////////////////
+
+	public static abstract class BigAccessor<T> implements Cloneable {
+		protected long index;
+		final int shift;
+		final int mask;
+
+		BigAccessor(int shift) {
+			this.shift = shift;
+			this.mask = (1<<shift)-1;
+		}
+
+		public abstract T get();
+
+		public abstract void set(T e);
+
+		protected abstract T get(long i);
+
+		protected abstract void set(long i, T e);
+
+		public final long getIndex(){ return index; }
+
+		public final void setIndex(long i){index = i; }
+
+		public final long getChunkLength(){ return 1L<<shift; }
+
+		/** only copies reference */
+		protected abstract BigAccessor<T> clone();
+
+		/** allocates new arrays */
+		protected abstract BigAccessor<T> copy();
+
+		@Override
+		public String toString() {
+			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
+		}
+	}
+
+
+	static class GenericBigAccessor<T> extends BigAccessor<T> {
+		T[][] chunks;
+		public GenericBigAccessor(T[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public T get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(T e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected T get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, T e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected GenericBigAccessor<T> clone() {
+			GenericBigAccessor<T> clon = new GenericBigAccessor<>(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected GenericBigAccessor<T> copy() {
+			T[][] copies = Arrays.copyOf(chunks, chunks.length);
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			GenericBigAccessor<T> cpy = new GenericBigAccessor<T>(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+
+	////MKNATIVEONLY>>>>
+	static class /*RPLC:Double*/DoubleBigAccessor/**/ extends BigAccessor</*G*/Double/**/> {
+		/*N*/double/**/[][] chunks;
+		public /*RPLC:Double*/DoubleBigAccessor/**/(/*N*/double/**/[][] chunks, int shift) {
+			super(shift);
+			this.chunks=chunks;
+		}
+		@Override
+		public /*G*/Double/**/ get() {return chunks[(int)(index>>>shift)][(int)index&mask];}
+		@Override
+		public void set(/*G*/Double/**/ e) {chunks[(int)(index>>>shift)][(int)index&mask] = e;}
+		@Override
+		protected /*G*/Double/**/ get(long i) {return chunks[(int)(i>>>shift)][(int)i&mask];}
+		@Override
+		protected void set(long i, /*G*/Double/**/ e) {chunks[(int)(i>>>shift)][(int)i&mask] = e;}
+		@Override
+		protected /*RPLC:Double*/DoubleBigAccessor/**/ clone() {
+			/*RPLC:Double*/DoubleBigAccessor/**/ clon = new /*RPLC:Double*/DoubleBigAccessor/**/(chunks, shift);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected /*RPLC:Double*/DoubleBigAccessor/**/ copy() {
+			/*N*/double/**/[][] copies = new /*N*/double/**/[chunks.length][];
+			for(int k = 0; k < copies.length; k++){
+				copies[k] = Arrays.copyOf(chunks[k], chunks[k].length);
+			}
+			/*RPLC:Double*/DoubleBigAccessor/**/ cpy = new /*RPLC:Double*/DoubleBigAccessor/**/(copies, shift);
+			cpy.setIndex(index);
+			return cpy;
+		}
+
+	}
+	////<<<<
+
+
+	///////////////////////////////
+	// Iterator & Spliterator
+	///////////////////////////////
+
+	static class BigAccessorIterator<T> implements Iterator<BigAccessor<T>> {
+		long i;
+		final long endIndexExcl;
+		final BigAccessor<T> acc;
+
+		public BigAccessorIterator(long startIndex, long endIndexExcl, BigAccessor<T> acc) {
+			this.acc = acc.clone();
+			this.i = startIndex-1;
+			this.endIndexExcl = endIndexExcl;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return i+1 < endIndexExcl;
+		}
+		@Override
+		public BigAccessor<T> next() {
+			i++;
+			acc.setIndex(i);
+			return acc;
+		}
+		@Override
+		public void forEachRemaining(Consumer<? super BigAccessor<T>> action) {
+			i++;
+			for(; i < endIndexExcl; i++){
+				acc.setIndex(i);
+				action.accept(acc);
+			}
+		}
+	}
+
+	static class BigAccessorSpliterator<T> implements Spliterator<BigAccessor<T>> {
+
+		final BigAccessor<T> acc;
+		long endIndex;
+		final long minimumSplitSize;
+
+		/**
+		 * Constructs a new BigAccessorSpliterator for the specified index range
+		 * @param startIndex first index of the range (inclusive)
+		 * @param endIndex last index of the range (inclusive)
+		 * @param minSplitSize minimum split size for this spliterator (minimum number of elements in a split)
+		 */
+		BigAccessorSpliterator(long startIndex, long endIndex, long minSplitSize, BigAccessor<T> acc) {
+			this.acc = acc.clone();
+			this.acc.setIndex(startIndex);
+			this.endIndex = endIndex;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super BigAccessor<T>> action) {
+			if(acc.getIndex() <= endIndex){
+				long index = acc.getIndex();
+				action.accept(acc);
+				acc.setIndex(index+1);
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super BigAccessor<T>> action) {
+			long idx = acc.getIndex();
+			for(;idx <= endIndex; acc.setIndex(++idx)){
+				action.accept(acc);
+			}
+		}
+
+		@Override
+		public Spliterator<BigAccessor<T>> trySplit() {
+			long currentIdx = Math.min(acc.getIndex(), endIndex);
+			long midIdx = currentIdx + (endIndex-currentIdx)/2;
+			// split on the chunk boundary closest to the middle if it is within a quarter of the range
+			long chunkLength = acc.getChunkLength();
+			long chunkBoundary = (midIdx + chunkLength/2) & -chunkLength;
+			long quarter = (endIndex-currentIdx)/4;
+			if(chunkBoundary > currentIdx && chunkBoundary <= endIndex && Math.abs(chunkBoundary-midIdx) <= quarter){
+				midIdx = chunkBoundary;
+			}
+			if(midIdx > currentIdx+minimumSplitSize){
+				BigAccessorSpliterator<T> split = new BigAccessorSpliterator<T>(midIdx, endIndex, minimumSplitSize, acc);
+				endIndex = midIdx-1;
+				return split;
+			} else {
+				return null;
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return endIndex+1-acc.getIndex();
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | SIZED | CONCURRENT | SUBSIZED | IMMUTABLE;
+		}
+
+	}
+
+}
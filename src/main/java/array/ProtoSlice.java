@@ -1,12 +1,25 @@
 package array;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+/**
+ * Slice of an array that is accessed through an {@link ArrayAccessor}.
+ * Indices of {@link #getAt(int)} and {@link #setAt(int, Object)} are accessor indices,
+ * the range of the slice is [{@link #getBeginIdx()}, getBeginIdx()+size()).
+ * Views keep this convention, element j of a view from {@link #subSlice(int, int)},
+ * {@link #stride(int)} or {@link #indirect(IntSlice)} is at accessor index getBeginIdx()+j
+ * of the view. Only {@link #copy()} begins at index 0.
+ */
 public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 	
 	final ArrayAccessor<T> aa;
@@ -21,12 +34,12 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 	
 	@Override
 	public Iterator<ArrayAccessor<T>> iterator() {
-		return new AccessorIterator<T>(beginIdx, size, aa);
+		return new AccessorIterator<T>(beginIdx, beginIdx+size, aa);
 	}
 	
 	@Override
 	public Spliterator<ArrayAccessor<T>> spliterator() {
-		return new AccessorSpliterator<T>(beginIdx, size-1, estimateReasonableSplitSize(size), aa);
+		return new AccessorSpliterator<T>(beginIdx, beginIdx+size-1, estimateReasonableSplitSize(size), aa);
 	}
 	
 	public Stream<ArrayAccessor<T>> stream(boolean parallel) {
@@ -50,8 +63,76 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 		parallelStream().forEach(action);
 	}
 	
+	/** copies only the range of this slice, the copy begins at index 0 */
 	public ProtoSlice<T> copy() {
-		return new ProtoSlice<T>(aa.copy(),beginIdx,size);
+		return new ProtoSlice<T>(aa.copyRange(beginIdx, size),0,size);
+	}
+	
+	/**
+	 * View on the range [from, to) of this slice that shares the underlying array.
+	 * @param from first element of the view relative to this slice (inclusive)
+	 * @param to last element of the view relative to this slice (exclusive)
+	 */
+	public ProtoSlice<T> subSlice(int from, int to) {
+		if(from < 0 || to > size || from > to){
+			throw new IndexOutOfBoundsException(String.format("Range [%d,%d) not within [0,%d)", from, to, size));
+		}
+		return new ProtoSlice<T>(aa, beginIdx+from, to-from);
+	}
+	
+	/**
+	 * View on every step-th element of this slice that shares the underlying array.
+	 * The view begins at the same index as this slice.
+	 */
+	public ProtoSlice<T> stride(int step) {
+		if(step < 1){
+			throw new IllegalArgumentException("Step has to be positive, was " + step);
+		}
+		return new ProtoSlice<T>(new StridedAccessor<T>(aa, beginIdx, step), beginIdx, (size+step-1)/step);
+	}
+	
+	/**
+	 * Indirect view that resolves through the index slice, i.e. element i of the view
+	 * (in the range of the index slice) is {@code getAt(indices.getAt(i))}.
+	 * Indices are accessor indices like the ones of getAt and setAt and are not checked
+	 * until they are accessed.
+	 */
+	public ProtoSlice<T> indirect(IntSlice indices) {
+		return new ProtoSlice<T>(new IndirectAccessor<T>(aa, indices.array), indices.beginIdx, indices.size);
+	}
+	
+	/**
+	 * Sorts the range of this slice by the keys of its elements using a stable parallel
+	 * merge sort on the common pool.
+	 */
+	public <K extends Comparable<? super K>> void sort(Function<? super T, ? extends K> keyExtractor) {
+		sort(keyExtractor, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Sorts the range of this slice by the keys of its elements using a stable parallel
+	 * merge sort on the specified pool. Keys are extracted once per element.
+	 */
+	public <K extends Comparable<? super K>> void sort(Function<? super T, ? extends K> keyExtractor, ForkJoinPool pool) {
+		final Object[] keys = new Object[size];
+		final Object[] values = new Object[size];
+		final int numBlocks = Natives.numBlocks(pool, size, MERGE_SORT_THRESHOLD);
+		final int blockSize = (size+numBlocks-1)/numBlocks;
+		Natives.forEachBlock(pool, numBlocks, b->{
+			for(int i = b*blockSize; i < Math.min(size, b*blockSize+blockSize); i++){
+				T value = aa.get(beginIdx+i);
+				values[i] = value;
+				keys[i] = keyExtractor.apply(value);
+			}
+		});
+		pool.invoke(new MergeSortTask(keys, values, new Object[size], new Object[size], 0, size));
+		Natives.forEachBlock(pool, numBlocks, b->{
+			for(int i = b*blockSize; i < Math.min(size, b*blockSize+blockSize); i++){
+				@SuppressWarnings("unchecked")
+				T value = (T)values[i];
+				aa.set(beginIdx+i, value);
+			}
+		});
 	}
 	
 	public T getAt(int i){
@@ -78,6 +159,10 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 	// Constructors
 	///////////////////////////////
 	
+	static <T> ProtoSlice<T> get(ArrayAccessor<T> accessor, int beginIdx, int length){
+		return new ProtoSlice<T>(accessor, beginIdx, length);
+	}
+	
 	////MKNATIVE>>>>
 	static /*RM*/<T>/**/ ProtoSlice</*G*/T/**/> get(/*N*/T/**/[] array, int beginIdx, int length){
 		return new ProtoSlice</*G*/T/**/>(new /*RPLC:Generic*/GenericAccessor/**//*RM*/<T>/**/(array), beginIdx, length);
@@ -88,6 +173,45 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 	}
 	////<<<<
 	
+	/**
+	 * Concatenates the ranges of the specified slices into one logical slice (beginning at
+	 * index 0) that shares the underlying arrays. Logical indices are mapped to the parts
+	 * in O(log N) and spliterators prefer to split at part boundaries.
+	 */
+	@SafeVarargs
+	public static <T> ProtoSlice<T> concat(ProtoSlice<T>... slices){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<T>[] parts = new ArrayAccessor[slices.length];
+		int[] partBegins = new int[slices.length];
+		int[] lengths = new int[slices.length];
+		for(int k = 0; k < slices.length; k++){
+			parts[k] = slices[k].aa;
+			partBegins[k] = slices[k].beginIdx;
+			lengths[k] = slices[k].size;
+		}
+		ConcatAccessor<T> accessor = new ConcatAccessor<T>(parts, partBegins, lengths);
+		return new ProtoSlice<T>(accessor, 0, accessor.size());
+	}
+	
+	////MKNATIVE>>>>
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(ProtoSlice...)
+	 */
+	/*RM*/@SafeVarargs/**/
+	public static /*RM*/<T>/**/ ProtoSlice</*G*/T/**/> concat(/*N*/T/**/[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor</*G*/T/**/>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new /*RPLC:Generic*/GenericAccessor/**//*RM*/<T>/**/(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor</*G*/T/**/> accessor = new ConcatAccessor</*G*/T/**/>(parts, new int[arrays.length], lengths);
+		return new ProtoSlice</*G*/T/**/>(accessor, 0, accessor.size());
+	}
+	////<<<<
+	
 	///////////////////////////////
 	// Static Streaming
 	///////////////////////////////
@@ -113,6 +237,86 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 	}
 	////<<<<
 	
+	///////////////////////////////
+	// Static Reductions
+	///////////////////////////////
+	
+	////MKNATIVEONLY>>>>
+	public static /*A*/double/**/ sum(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static /*N*/double/**/ min(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).min();
+	}
+	
+	public static /*N*/double/**/ max(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).argMax();
+	}
+	
+	public static /*A*/double/**/ dot(/*N*/double/**/[] a, /*N*/double/**/[] b, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(a, beginIndex, length).dot(/*RPLC:Double*/DoubleSlice/**/.get(b, beginIndex, length));
+	}
+	
+	public static /*N*/double/**/ select(/*N*/double/**/[] array, int beginIndex, int length, int k){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(/*N*/double/**/[] array, int beginIndex, int length, double... percentiles){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static /*N*/double/**/[] topK(/*N*/double/**/[] array, int beginIndex, int length, int k){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(/*N*/double/**/[] array, int beginIndex, int length, int bins, double min, double max){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(/*N*/double/**/[] array, int beginIndex, int length, double[] edges){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(/*N*/double/**/[] array, int beginIndex, int length){
+		return /*RPLC:Double*/DoubleSlice/**/.get(array, beginIndex, length).bincount();
+	}
+	////<<<<
+	
+	///////////////////////////////
+	// Typed Views
+	///////////////////////////////
+	
+	////MKNATIVEONLY>>>>
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice</*G*/Double/**/> /*RPLC:Double*/viewAsDouble/**/(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(/*G*/Double/**/.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, /*G*/Double/**/.BYTES);
+		return Slice.get(new /*RPLC:Double*/OffHeapSlice.DoubleBufferAccessor/**/(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, /*G*/Double/**/.BYTES));
+	}
+	////<<<<
+	
 	///////////////////////////////
 	// Accessors
 	///////////////////////////////
@@ -138,6 +342,18 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 		/** allocates new array */
 		protected abstract ArrayAccessor<T> copy();
 		
+		/** allocates new array containing only the specified range, starting at index 0 */
+		protected abstract ArrayAccessor<T> copyRange(int from, int length);
+		
+		/**
+		 * Adjusts the index at which a spliterator splits the index range [from, to],
+		 * e.g. to align splits with the underlying storage.
+		 * @return index in (from, to], default is mid
+		 */
+		protected int alignSplit(int from, int mid, int to) {
+			return mid;
+		}
+		
 		@Override
 		public String toString() {
 			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
@@ -171,10 +387,300 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected /*RPLC:Generic*/GenericAccessor/**//*RM*/<T>/**/ copyRange(int from, int length) {
+			return new /*RPLC:Generic*/GenericAccessor/**//*RM*/<T>/**/(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 	////<<<<
 	
+	/** index i maps to base index offset+(i-offset)*stride, the first element keeps its index */
+	static class StridedAccessor<T> extends ArrayAccessor<T> {
+		final ArrayAccessor<T> base;
+		final int offset;
+		final int stride;
+		public StridedAccessor(ArrayAccessor<T> base, int offset, int stride) {
+			this.base = base;
+			this.offset = offset;
+			this.stride = stride;
+		}
+		@Override
+		public T get() {return base.get(offset+(index-offset)*stride);}
+		@Override
+		public void set(T e) {base.set(offset+(index-offset)*stride, e);}
+		@Override
+		protected T get(int i) {return base.get(offset+(i-offset)*stride);}
+		@Override
+		protected void set(int i, T e) {base.set(offset+(i-offset)*stride, e);}
+		@Override
+		protected StridedAccessor<T> clone() {
+			StridedAccessor<T> clon = new StridedAccessor<>(base, offset, stride);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected StridedAccessor<T> copy() {
+			StridedAccessor<T> cpy = new StridedAccessor<>(base.copy(), offset, stride);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		/** copies the span from the first to the last element of the range (including the elements in between) */
+		@Override
+		protected StridedAccessor<T> copyRange(int from, int length) {
+			int span = length > 0 ? (length-1)*stride+1 : 0;
+			return new StridedAccessor<>(base.copyRange(offset+(from-offset)*stride, span), 0, stride);
+		}
+	}
+	
+	
+	static class IndirectAccessor<T> extends ArrayAccessor<T> {
+		final ArrayAccessor<T> base;
+		final int[] indices;
+		public IndirectAccessor(ArrayAccessor<T> base, int[] indices) {
+			this.base = base;
+			this.indices = indices;
+		}
+		@Override
+		public T get() {return base.get(indices[index]);}
+		@Override
+		public void set(T e) {base.set(indices[index], e);}
+		@Override
+		protected T get(int i) {return base.get(indices[i]);}
+		@Override
+		protected void set(int i, T e) {base.set(indices[i], e);}
+		@Override
+		protected IndirectAccessor<T> clone() {
+			IndirectAccessor<T> clon = new IndirectAccessor<>(base, indices);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected IndirectAccessor<T> copy() {
+			IndirectAccessor<T> cpy = new IndirectAccessor<>(base.copy(), indices.clone());
+			cpy.setIndex(index);
+			return cpy;
+		}
+		/** copies the span from the smallest to the largest index of the range */
+		@Override
+		protected IndirectAccessor<T> copyRange(int from, int length) {
+			int min = Integer.MAX_VALUE, max = -1;
+			for(int i = from; i < from+length; i++){
+				min = Math.min(min, indices[i]);
+				max = Math.max(max, indices[i]);
+			}
+			if(length == 0){
+				return new IndirectAccessor<>(base.copyRange(0, 0), new int[0]);
+			}
+			int[] rebased = new int[length];
+			for(int i = 0; i < length; i++){
+				rebased[i] = indices[from+i]-min;
+			}
+			return new IndirectAccessor<>(base.copyRange(min, max-min+1), rebased);
+		}
+	}
+	
+	/**
+	 * Accessor on the concatenation of the ranges of several accessors. The part of the
+	 * current index is cached, so that sequential traversal only searches for the part
+	 * when crossing a boundary.
+	 */
+	static class ConcatAccessor<T> extends ArrayAccessor<T> {
+		final ArrayAccessor<T>[] parts;
+		final int[] partBegins;
+		/** logical index of the first element of each part, followed by the total size */
+		final int[] starts;
+		int part;
+		
+		ConcatAccessor(ArrayAccessor<T>[] parts, int[] partBegins, int[] lengths) {
+			this.parts = parts;
+			this.partBegins = partBegins;
+			this.starts = new int[parts.length+1];
+			for(int k = 0; k < parts.length; k++){
+				long end = (long)starts[k] + lengths[k];
+				if(end > Integer.MAX_VALUE){
+					throw new IllegalArgumentException("Concatenation exceeds maximum slice size");
+				}
+				starts[k+1] = (int)end;
+			}
+		}
+		
+		private ConcatAccessor(ArrayAccessor<T>[] parts, int[] partBegins, int[] starts, int part) {
+			this.parts = parts;
+			this.partBegins = partBegins;
+			this.starts = starts;
+			this.part = part;
+		}
+		
+		int size() {
+			return starts[parts.length];
+		}
+		
+		/** @return part containing the logical index i (binary search over the part starts) */
+		int partOf(int i) {
+			int lo = 0, hi = parts.length-1;
+			while(lo < hi){
+				int mid = (lo+hi+1) >>> 1;
+				if(starts[mid] <= i) lo = mid; else hi = mid-1;
+			}
+			return lo;
+		}
+		
+		private int partOfCached(int i) {
+			int p = part;
+			if(i < starts[p] || i >= starts[p+1]){
+				part = p = partOf(i);
+			}
+			return p;
+		}
+		
+		@Override
+		public T get() {return get(index);}
+		@Override
+		public void set(T e) {set(index, e);}
+		@Override
+		protected T get(int i) {
+			int p = partOfCached(i);
+			return parts[p].get(partBegins[p]+i-starts[p]);
+		}
+		@Override
+		protected void set(int i, T e) {
+			int p = partOfCached(i);
+			parts[p].set(partBegins[p]+i-starts[p], e);
+		}
+		@Override
+		protected ConcatAccessor<T> clone() {
+			ConcatAccessor<T> clon = new ConcatAccessor<>(parts, partBegins, starts, part);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected ConcatAccessor<T> copy() {
+			ArrayAccessor<T>[] copies = parts.clone();
+			for(int k = 0; k < parts.length; k++){
+				copies[k] = parts[k].copy();
+			}
+			ConcatAccessor<T> cpy = new ConcatAccessor<>(copies, partBegins, starts, part);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		/** copies the overlapped ranges of the parts, the copy keeps the part boundaries */
+		@Override
+		protected ConcatAccessor<T> copyRange(int from, int length) {
+			int first = length > 0 ? partOf(from) : 0;
+			int last = length > 0 ? partOf(from+length-1) : -1;
+			int n = last-first+1;
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			ArrayAccessor<T>[] copies = new ArrayAccessor[n];
+			int[] lengths = new int[n];
+			for(int k = 0; k < n; k++){
+				int p = first+k;
+				int lo = Math.max(from, starts[p]);
+				int hi = Math.min(from+length, starts[p+1]);
+				copies[k] = parts[p].copyRange(partBegins[p]+lo-starts[p], hi-lo);
+				lengths[k] = hi-lo;
+			}
+			return new ConcatAccessor<>(copies, new int[n], lengths);
+		}
+		/** prefers the part boundary closest to mid when it is within a quarter of the range */
+		@Override
+		protected int alignSplit(int from, int mid, int to) {
+			int p = partOf(mid);
+			int lower = starts[p];
+			int upper = starts[p+1];
+			int boundary = mid-lower <= upper-mid ? lower:upper;
+			int quarter = (to-from)/4;
+			if(boundary > from && boundary <= to && Math.abs(boundary-mid) <= quarter){
+				return boundary;
+			}
+			return mid;
+		}
+	}
+	
+	
+	///////////////////////////////
+	// Merge Sort
+	///////////////////////////////
+	
+	static final int MERGE_SORT_THRESHOLD = 1<<13;
+	
+	/** stable merge sort of keys (with attached values) that forks for ranges above the threshold */
+	static final class MergeSortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		static final int INSERTION_SORT_THRESHOLD = 32;
+		
+		final Object[] keys, values, keyBuf, valueBuf;
+		final int from, to;
+		
+		MergeSortTask(Object[] keys, Object[] values, Object[] keyBuf, Object[] valueBuf, int from, int to) {
+			this.keys = keys;
+			this.values = values;
+			this.keyBuf = keyBuf;
+			this.valueBuf = valueBuf;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to-from > MERGE_SORT_THRESHOLD){
+				int mid = from + (to-from)/2;
+				invokeAll(
+						new MergeSortTask(keys, values, keyBuf, valueBuf, from, mid),
+						new MergeSortTask(keys, values, keyBuf, valueBuf, mid, to));
+				merge(from, mid, to);
+			} else {
+				sort(from, to);
+			}
+		}
+		
+		void sort(int from, int to) {
+			if(to-from <= INSERTION_SORT_THRESHOLD){
+				for(int i = from+1; i < to; i++){
+					Object k = keys[i], v = values[i];
+					int j = i-1;
+					for(; j >= from && compare(keys[j], k) > 0; j--){
+						keys[j+1] = keys[j];
+						values[j+1] = values[j];
+					}
+					keys[j+1] = k;
+					values[j+1] = v;
+				}
+			} else {
+				int mid = from + (to-from)/2;
+				sort(from, mid);
+				sort(mid, to);
+				merge(from, mid, to);
+			}
+		}
+		
+		void merge(int from, int mid, int to) {
+			if(compare(keys[mid-1], keys[mid]) <= 0)
+				return;
+			System.arraycopy(keys, from, keyBuf, from, to-from);
+			System.arraycopy(values, from, valueBuf, from, to-from);
+			int i = from, j = mid, k = from;
+			while(i < mid && j < to){
+				if(compare(keyBuf[j], keyBuf[i]) < 0){
+					keys[k] = keyBuf[j];
+					values[k++] = valueBuf[j++];
+				} else {
+					keys[k] = keyBuf[i];
+					values[k++] = valueBuf[i++];
+				}
+			}
+			System.arraycopy(keyBuf, i, keys, k, mid-i);
+			System.arraycopy(valueBuf, i, values, k, mid-i);
+			k += mid-i;
+			System.arraycopy(keyBuf, j, keys, k, to-j);
+			System.arraycopy(valueBuf, j, values, k, to-j);
+		}
+		
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		static int compare(Object a, Object b) {
+			return ((Comparable)a).compareTo(b);
+		}
+	}
 	
 	///////////////////////////////
 	// Iterator & Spliterator
@@ -206,6 +712,7 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 			i++;
 			for(; i < endIndexExcl; i++){
 				acc.setIndex(i);
+				action.accept(acc);
 			}
 		}
 	}
@@ -256,7 +763,7 @@ public class ProtoSlice<T> implements Iterable<ProtoSlice.ArrayAccessor<T>>{
 		@Override
 		public Spliterator<ArrayAccessor<T>> trySplit() {
 			int currentIdx = Math.min(acc.getIndex(), endIndex);
-			int midIdx = currentIdx + (endIndex-currentIdx)/2;
+			int midIdx = acc.alignSplit(currentIdx, currentIdx + (endIndex-currentIdx)/2, endIndex);
 			if(midIdx > currentIdx+minimumSplitSize){
 				AccessorSpliterator<T> split = new AccessorSpliterator<T>(midIdx, endIndex, minimumSplitSize, acc);
 				setEndIndex(midIdx-1);
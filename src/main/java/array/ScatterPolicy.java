@@ -0,0 +1,17 @@
+package array;
+
+/**
+ * Resolution of conflicting writes to the same index when scattering values,
+ * e.g. with {@code DoubleSlice.scatter(indices, source, policy)}.
+ * Conflicts are resolved in the order of the source values.
+ */
+public enum ScatterPolicy {
+	/** the last value written to an index remains */
+	LAST_WINS,
+	/** values are added to the element at the index */
+	ADD,
+	/** the maximum of the element and the values remains (in the order of sort) */
+	MAX,
+	/** the minimum of the element and the values remains (in the order of sort) */
+	MIN,
+}
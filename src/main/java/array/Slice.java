@@ -1,13 +1,26 @@
 /* AUTOMATICALLY GENERATED FROM  src\main\java\array\ProtoSlice.java */
 package array;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+/**
+ * Slice of an array that is accessed through an {@link ArrayAccessor}.
+ * Indices of {@link #getAt(int)} and {@link #setAt(int, Object)} are accessor indices,
+ * the range of the slice is [{@link #getBeginIdx()}, getBeginIdx()+size()).
+ * Views keep this convention, element j of a view from {@link #subSlice(int, int)},
+ * {@link #stride(int)} or {@link #indirect(IntSlice)} is at accessor index getBeginIdx()+j
+ * of the view. Only {@link #copy()} begins at index 0.
+ */
 public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 	
 	final ArrayAccessor<T> aa;
@@ -22,12 +35,12 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 	
 	@Override
 	public Iterator<ArrayAccessor<T>> iterator() {
-		return new AccessorIterator<T>(beginIdx, size, aa);
+		return new AccessorIterator<T>(beginIdx, beginIdx+size, aa);
 	}
 	
 	@Override
 	public Spliterator<ArrayAccessor<T>> spliterator() {
-		return new AccessorSpliterator<T>(beginIdx, size-1, estimateReasonableSplitSize(size), aa);
+		return new AccessorSpliterator<T>(beginIdx, beginIdx+size-1, estimateReasonableSplitSize(size), aa);
 	}
 	
 	public Stream<ArrayAccessor<T>> stream(boolean parallel) {
@@ -51,8 +64,76 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 		parallelStream().forEach(action);
 	}
 	
+	/** copies only the range of this slice, the copy begins at index 0 */
 	public Slice<T> copy() {
-		return new Slice<T>(aa.copy(),beginIdx,size);
+		return new Slice<T>(aa.copyRange(beginIdx, size),0,size);
+	}
+	
+	/**
+	 * View on the range [from, to) of this slice that shares the underlying array.
+	 * @param from first element of the view relative to this slice (inclusive)
+	 * @param to last element of the view relative to this slice (exclusive)
+	 */
+	public Slice<T> subSlice(int from, int to) {
+		if(from < 0 || to > size || from > to){
+			throw new IndexOutOfBoundsException(String.format("Range [%d,%d) not within [0,%d)", from, to, size));
+		}
+		return new Slice<T>(aa, beginIdx+from, to-from);
+	}
+	
+	/**
+	 * View on every step-th element of this slice that shares the underlying array.
+	 * The view begins at the same index as this slice.
+	 */
+	public Slice<T> stride(int step) {
+		if(step < 1){
+			throw new IllegalArgumentException("Step has to be positive, was " + step);
+		}
+		return new Slice<T>(new StridedAccessor<T>(aa, beginIdx, step), beginIdx, (size+step-1)/step);
+	}
+	
+	/**
+	 * Indirect view that resolves through the index slice, i.e. element i of the view
+	 * (in the range of the index slice) is {@code getAt(indices.getAt(i))}.
+	 * Indices are accessor indices like the ones of getAt and setAt and are not checked
+	 * until they are accessed.
+	 */
+	public Slice<T> indirect(IntSlice indices) {
+		return new Slice<T>(new IndirectAccessor<T>(aa, indices.array), indices.beginIdx, indices.size);
+	}
+	
+	/**
+	 * Sorts the range of this slice by the keys of its elements using a stable parallel
+	 * merge sort on the common pool.
+	 */
+	public <K extends Comparable<? super K>> void sort(Function<? super T, ? extends K> keyExtractor) {
+		sort(keyExtractor, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Sorts the range of this slice by the keys of its elements using a stable parallel
+	 * merge sort on the specified pool. Keys are extracted once per element.
+	 */
+	public <K extends Comparable<? super K>> void sort(Function<? super T, ? extends K> keyExtractor, ForkJoinPool pool) {
+		final Object[] keys = new Object[size];
+		final Object[] values = new Object[size];
+		final int numBlocks = Natives.numBlocks(pool, size, MERGE_SORT_THRESHOLD);
+		final int blockSize = (size+numBlocks-1)/numBlocks;
+		Natives.forEachBlock(pool, numBlocks, b->{
+			for(int i = b*blockSize; i < Math.min(size, b*blockSize+blockSize); i++){
+				T value = aa.get(beginIdx+i);
+				values[i] = value;
+				keys[i] = keyExtractor.apply(value);
+			}
+		});
+		pool.invoke(new MergeSortTask(keys, values, new Object[size], new Object[size], 0, size));
+		Natives.forEachBlock(pool, numBlocks, b->{
+			for(int i = b*blockSize; i < Math.min(size, b*blockSize+blockSize); i++){
+				@SuppressWarnings("unchecked")
+				T value = (T)values[i];
+				aa.set(beginIdx+i, value);
+			}
+		});
 	}
 	
 	public T getAt(int i){
@@ -79,6 +160,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 	// Constructors
 	///////////////////////////////
 	
+	static <T> Slice<T> get(ArrayAccessor<T> accessor, int beginIdx, int length){
+		return new Slice<T>(accessor, beginIdx, length);
+	}
+	
 	static <T> Slice<T> get(T[] array, int beginIdx, int length){
 		return new Slice<T>(new GenericAccessor<T>(array), beginIdx, length);
 	}
@@ -144,6 +229,163 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 	}
 
 	
+	/**
+	 * Concatenates the ranges of the specified slices into one logical slice (beginning at
+	 * index 0) that shares the underlying arrays. Logical indices are mapped to the parts
+	 * in O(log N) and spliterators prefer to split at part boundaries.
+	 */
+	@SafeVarargs
+	public static <T> Slice<T> concat(Slice<T>... slices){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<T>[] parts = new ArrayAccessor[slices.length];
+		int[] partBegins = new int[slices.length];
+		int[] lengths = new int[slices.length];
+		for(int k = 0; k < slices.length; k++){
+			parts[k] = slices[k].aa;
+			partBegins[k] = slices[k].beginIdx;
+			lengths[k] = slices[k].size;
+		}
+		ConcatAccessor<T> accessor = new ConcatAccessor<T>(parts, partBegins, lengths);
+		return new Slice<T>(accessor, 0, accessor.size());
+	}
+	
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	@SafeVarargs
+	public static <T> Slice<T> concat(T[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<T>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new GenericAccessor<T>(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<T> accessor = new ConcatAccessor<T>(parts, new int[arrays.length], lengths);
+		return new Slice<T>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Integer> concat(int[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Integer>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new IntAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Integer> accessor = new ConcatAccessor<Integer>(parts, new int[arrays.length], lengths);
+		return new Slice<Integer>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Long> concat(long[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Long>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new LongAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Long> accessor = new ConcatAccessor<Long>(parts, new int[arrays.length], lengths);
+		return new Slice<Long>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Float> concat(float[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Float>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new FloatAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Float> accessor = new ConcatAccessor<Float>(parts, new int[arrays.length], lengths);
+		return new Slice<Float>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Double> concat(double[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Double>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new DoubleAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Double> accessor = new ConcatAccessor<Double>(parts, new int[arrays.length], lengths);
+		return new Slice<Double>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Short> concat(short[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Short>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new ShortAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Short> accessor = new ConcatAccessor<Short>(parts, new int[arrays.length], lengths);
+		return new Slice<Short>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Character> concat(char[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Character>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new CharAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Character> accessor = new ConcatAccessor<Character>(parts, new int[arrays.length], lengths);
+		return new Slice<Character>(accessor, 0, accessor.size());
+	}
+
+	/**
+	 * Concatenates the specified arrays into one logical slice without copying.
+	 * @see #concat(Slice...)
+	 */
+	
+	public static  Slice<Byte> concat(byte[]... arrays){
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ArrayAccessor<Byte>[] parts = new ArrayAccessor[arrays.length];
+		int[] lengths = new int[arrays.length];
+		for(int k = 0; k < arrays.length; k++){
+			parts[k] = new ByteAccessor(arrays[k]);
+			lengths[k] = arrays[k].length;
+		}
+		ConcatAccessor<Byte> accessor = new ConcatAccessor<Byte>(parts, new int[arrays.length], lengths);
+		return new Slice<Byte>(accessor, 0, accessor.size());
+	}
+
+	
 	///////////////////////////////
 	// Static Streaming
 	///////////////////////////////
@@ -252,6 +494,492 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 	}
 
 	
+	///////////////////////////////
+	// Static Reductions
+	///////////////////////////////
+	
+	public static long sum(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static int min(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static int max(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static long dot(int[] a, int[] b, int beginIndex, int length){
+		return IntSlice.get(a, beginIndex, length).dot(IntSlice.get(b, beginIndex, length));
+	}
+	
+	public static int select(int[] array, int beginIndex, int length, int k){
+		return IntSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(int[] array, int beginIndex, int length, double... percentiles){
+		return IntSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static int[] topK(int[] array, int beginIndex, int length, int k){
+		return IntSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(int[] array, int beginIndex, int length, int bins, double min, double max){
+		return IntSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(int[] array, int beginIndex, int length, double[] edges){
+		return IntSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(int[] array, int beginIndex, int length){
+		return IntSlice.get(array, beginIndex, length).bincount();
+	}
+
+	public static long sum(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static long min(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static long max(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static long dot(long[] a, long[] b, int beginIndex, int length){
+		return LongSlice.get(a, beginIndex, length).dot(LongSlice.get(b, beginIndex, length));
+	}
+	
+	public static long select(long[] array, int beginIndex, int length, int k){
+		return LongSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(long[] array, int beginIndex, int length, double... percentiles){
+		return LongSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static long[] topK(long[] array, int beginIndex, int length, int k){
+		return LongSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(long[] array, int beginIndex, int length, int bins, double min, double max){
+		return LongSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(long[] array, int beginIndex, int length, double[] edges){
+		return LongSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(long[] array, int beginIndex, int length){
+		return LongSlice.get(array, beginIndex, length).bincount();
+	}
+
+	public static double sum(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static float min(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static float max(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static double dot(float[] a, float[] b, int beginIndex, int length){
+		return FloatSlice.get(a, beginIndex, length).dot(FloatSlice.get(b, beginIndex, length));
+	}
+	
+	public static float select(float[] array, int beginIndex, int length, int k){
+		return FloatSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(float[] array, int beginIndex, int length, double... percentiles){
+		return FloatSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static float[] topK(float[] array, int beginIndex, int length, int k){
+		return FloatSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(float[] array, int beginIndex, int length, int bins, double min, double max){
+		return FloatSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(float[] array, int beginIndex, int length, double[] edges){
+		return FloatSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(float[] array, int beginIndex, int length){
+		return FloatSlice.get(array, beginIndex, length).bincount();
+	}
+
+	public static double sum(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static double min(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static double max(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static double dot(double[] a, double[] b, int beginIndex, int length){
+		return DoubleSlice.get(a, beginIndex, length).dot(DoubleSlice.get(b, beginIndex, length));
+	}
+	
+	public static double select(double[] array, int beginIndex, int length, int k){
+		return DoubleSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(double[] array, int beginIndex, int length, double... percentiles){
+		return DoubleSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static double[] topK(double[] array, int beginIndex, int length, int k){
+		return DoubleSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(double[] array, int beginIndex, int length, int bins, double min, double max){
+		return DoubleSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(double[] array, int beginIndex, int length, double[] edges){
+		return DoubleSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(double[] array, int beginIndex, int length){
+		return DoubleSlice.get(array, beginIndex, length).bincount();
+	}
+
+	public static long sum(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static short min(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static short max(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static long dot(short[] a, short[] b, int beginIndex, int length){
+		return ShortSlice.get(a, beginIndex, length).dot(ShortSlice.get(b, beginIndex, length));
+	}
+	
+	public static short select(short[] array, int beginIndex, int length, int k){
+		return ShortSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(short[] array, int beginIndex, int length, double... percentiles){
+		return ShortSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static short[] topK(short[] array, int beginIndex, int length, int k){
+		return ShortSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(short[] array, int beginIndex, int length, int bins, double min, double max){
+		return ShortSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(short[] array, int beginIndex, int length, double[] edges){
+		return ShortSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(short[] array, int beginIndex, int length){
+		return ShortSlice.get(array, beginIndex, length).bincount();
+	}
+
+	public static long sum(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static char min(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static char max(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static long dot(char[] a, char[] b, int beginIndex, int length){
+		return CharSlice.get(a, beginIndex, length).dot(CharSlice.get(b, beginIndex, length));
+	}
+	
+	public static char select(char[] array, int beginIndex, int length, int k){
+		return CharSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(char[] array, int beginIndex, int length, double... percentiles){
+		return CharSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static char[] topK(char[] array, int beginIndex, int length, int k){
+		return CharSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(char[] array, int beginIndex, int length, int bins, double min, double max){
+		return CharSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(char[] array, int beginIndex, int length, double[] edges){
+		return CharSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(char[] array, int beginIndex, int length){
+		return CharSlice.get(array, beginIndex, length).bincount();
+	}
+
+	public static long sum(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).sum();
+	}
+	
+	public static double sumReproducible(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).sumReproducible();
+	}
+	
+	public static SummaryStatistics summaryStatistics(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).summaryStatistics();
+	}
+	
+	public static byte min(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).min();
+	}
+	
+	public static byte max(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).max();
+	}
+	
+	public static int argMin(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).argMin();
+	}
+	
+	public static int argMax(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).argMax();
+	}
+	
+	public static long dot(byte[] a, byte[] b, int beginIndex, int length){
+		return ByteSlice.get(a, beginIndex, length).dot(ByteSlice.get(b, beginIndex, length));
+	}
+	
+	public static byte select(byte[] array, int beginIndex, int length, int k){
+		return ByteSlice.get(array, beginIndex, length).select(k);
+	}
+	
+	public static double[] percentiles(byte[] array, int beginIndex, int length, double... percentiles){
+		return ByteSlice.get(array, beginIndex, length).percentiles(percentiles);
+	}
+	
+	public static byte[] topK(byte[] array, int beginIndex, int length, int k){
+		return ByteSlice.get(array, beginIndex, length).topK(k);
+	}
+	
+	public static long[] histogram(byte[] array, int beginIndex, int length, int bins, double min, double max){
+		return ByteSlice.get(array, beginIndex, length).histogram(bins, min, max);
+	}
+	
+	public static long[] histogram(byte[] array, int beginIndex, int length, double[] edges){
+		return ByteSlice.get(array, beginIndex, length).histogram(edges);
+	}
+	
+	public static long[] bincount(byte[] array, int beginIndex, int length){
+		return ByteSlice.get(array, beginIndex, length).bincount();
+	}
+
+	
+	///////////////////////////////
+	// Typed Views
+	///////////////////////////////
+	
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Integer> viewAsInt(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Integer.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Integer.BYTES);
+		return Slice.get(new OffHeapSlice.IntBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Integer.BYTES));
+	}
+
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Long> viewAsLong(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Long.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Long.BYTES);
+		return Slice.get(new OffHeapSlice.LongBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Long.BYTES));
+	}
+
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Float> viewAsFloat(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Float.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Float.BYTES);
+		return Slice.get(new OffHeapSlice.FloatBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Float.BYTES));
+	}
+
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Double> viewAsDouble(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Double.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Double.BYTES);
+		return Slice.get(new OffHeapSlice.DoubleBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Double.BYTES));
+	}
+
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Short> viewAsShort(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Short.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Short.BYTES);
+		return Slice.get(new OffHeapSlice.ShortBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Short.BYTES));
+	}
+
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Character> viewAsChar(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Character.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Character.BYTES);
+		return Slice.get(new OffHeapSlice.CharBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Character.BYTES));
+	}
+
+	/**
+	 * View on the bytes of the byte slice as values of this type in the specified byte order,
+	 * without copying (reads and writes go through ByteBuffer views on the byte array).
+	 * Trailing bytes that do not make up a whole value are not part of the view.
+	 * Splits of parallel streams are on value boundaries, aligned to pages where possible.
+	 */
+	public static Slice<Byte> viewAsByte(ByteSlice bytes, ByteOrder order){
+		int shift = OffHeapSlice.chunkShift(Byte.BYTES);
+		ByteBuffer[] chunks = OffHeapSlice.wrapChunks(bytes.array, bytes.beginIdx, bytes.size, order, shift, Byte.BYTES);
+		return Slice.get(new OffHeapSlice.ByteBufferAccessor(chunks, shift), 0, OffHeapSlice.lengthOf(chunks, Byte.BYTES));
+	}
+
+	
 	///////////////////////////////
 	// Accessors
 	///////////////////////////////
@@ -277,6 +1005,18 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 		/** allocates new array */
 		protected abstract ArrayAccessor<T> copy();
 		
+		/** allocates new array containing only the specified range, starting at index 0 */
+		protected abstract ArrayAccessor<T> copyRange(int from, int length);
+		
+		/**
+		 * Adjusts the index at which a spliterator splits the index range [from, to],
+		 * e.g. to align splits with the underlying storage.
+		 * @return index in (from, to], default is mid
+		 */
+		protected int alignSplit(int from, int mid, int to) {
+			return mid;
+		}
+		
 		@Override
 		public String toString() {
 			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
@@ -309,6 +1049,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected GenericAccessor<T> copyRange(int from, int length) {
+			return new GenericAccessor<T>(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -337,6 +1081,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected IntAccessor copyRange(int from, int length) {
+			return new IntAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -365,6 +1113,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected LongAccessor copyRange(int from, int length) {
+			return new LongAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -393,6 +1145,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected FloatAccessor copyRange(int from, int length) {
+			return new FloatAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -421,6 +1177,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected DoubleAccessor copyRange(int from, int length) {
+			return new DoubleAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -449,6 +1209,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected ShortAccessor copyRange(int from, int length) {
+			return new ShortAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -477,6 +1241,10 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected CharAccessor copyRange(int from, int length) {
+			return new CharAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
@@ -505,10 +1273,300 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			cpy.setIndex(index);
 			return cpy;
 		}
+		@Override
+		protected ByteAccessor copyRange(int from, int length) {
+			return new ByteAccessor(Arrays.copyOfRange(array, from, from+length));
+		}
 		
 	}
 
 	
+	/** index i maps to base index offset+(i-offset)*stride, the first element keeps its index */
+	static class StridedAccessor<T> extends ArrayAccessor<T> {
+		final ArrayAccessor<T> base;
+		final int offset;
+		final int stride;
+		public StridedAccessor(ArrayAccessor<T> base, int offset, int stride) {
+			this.base = base;
+			this.offset = offset;
+			this.stride = stride;
+		}
+		@Override
+		public T get() {return base.get(offset+(index-offset)*stride);}
+		@Override
+		public void set(T e) {base.set(offset+(index-offset)*stride, e);}
+		@Override
+		protected T get(int i) {return base.get(offset+(i-offset)*stride);}
+		@Override
+		protected void set(int i, T e) {base.set(offset+(i-offset)*stride, e);}
+		@Override
+		protected StridedAccessor<T> clone() {
+			StridedAccessor<T> clon = new StridedAccessor<>(base, offset, stride);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected StridedAccessor<T> copy() {
+			StridedAccessor<T> cpy = new StridedAccessor<>(base.copy(), offset, stride);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		/** copies the span from the first to the last element of the range (including the elements in between) */
+		@Override
+		protected StridedAccessor<T> copyRange(int from, int length) {
+			int span = length > 0 ? (length-1)*stride+1 : 0;
+			return new StridedAccessor<>(base.copyRange(offset+(from-offset)*stride, span), 0, stride);
+		}
+	}
+	
+	
+	static class IndirectAccessor<T> extends ArrayAccessor<T> {
+		final ArrayAccessor<T> base;
+		final int[] indices;
+		public IndirectAccessor(ArrayAccessor<T> base, int[] indices) {
+			this.base = base;
+			this.indices = indices;
+		}
+		@Override
+		public T get() {return base.get(indices[index]);}
+		@Override
+		public void set(T e) {base.set(indices[index], e);}
+		@Override
+		protected T get(int i) {return base.get(indices[i]);}
+		@Override
+		protected void set(int i, T e) {base.set(indices[i], e);}
+		@Override
+		protected IndirectAccessor<T> clone() {
+			IndirectAccessor<T> clon = new IndirectAccessor<>(base, indices);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected IndirectAccessor<T> copy() {
+			IndirectAccessor<T> cpy = new IndirectAccessor<>(base.copy(), indices.clone());
+			cpy.setIndex(index);
+			return cpy;
+		}
+		/** copies the span from the smallest to the largest index of the range */
+		@Override
+		protected IndirectAccessor<T> copyRange(int from, int length) {
+			int min = Integer.MAX_VALUE, max = -1;
+			for(int i = from; i < from+length; i++){
+				min = Math.min(min, indices[i]);
+				max = Math.max(max, indices[i]);
+			}
+			if(length == 0){
+				return new IndirectAccessor<>(base.copyRange(0, 0), new int[0]);
+			}
+			int[] rebased = new int[length];
+			for(int i = 0; i < length; i++){
+				rebased[i] = indices[from+i]-min;
+			}
+			return new IndirectAccessor<>(base.copyRange(min, max-min+1), rebased);
+		}
+	}
+	
+	/**
+	 * Accessor on the concatenation of the ranges of several accessors. The part of the
+	 * current index is cached, so that sequential traversal only searches for the part
+	 * when crossing a boundary.
+	 */
+	static class ConcatAccessor<T> extends ArrayAccessor<T> {
+		final ArrayAccessor<T>[] parts;
+		final int[] partBegins;
+		/** logical index of the first element of each part, followed by the total size */
+		final int[] starts;
+		int part;
+		
+		ConcatAccessor(ArrayAccessor<T>[] parts, int[] partBegins, int[] lengths) {
+			this.parts = parts;
+			this.partBegins = partBegins;
+			this.starts = new int[parts.length+1];
+			for(int k = 0; k < parts.length; k++){
+				long end = (long)starts[k] + lengths[k];
+				if(end > Integer.MAX_VALUE){
+					throw new IllegalArgumentException("Concatenation exceeds maximum slice size");
+				}
+				starts[k+1] = (int)end;
+			}
+		}
+		
+		private ConcatAccessor(ArrayAccessor<T>[] parts, int[] partBegins, int[] starts, int part) {
+			this.parts = parts;
+			this.partBegins = partBegins;
+			this.starts = starts;
+			this.part = part;
+		}
+		
+		int size() {
+			return starts[parts.length];
+		}
+		
+		/** @return part containing the logical index i (binary search over the part starts) */
+		int partOf(int i) {
+			int lo = 0, hi = parts.length-1;
+			while(lo < hi){
+				int mid = (lo+hi+1) >>> 1;
+				if(starts[mid] <= i) lo = mid; else hi = mid-1;
+			}
+			return lo;
+		}
+		
+		private int partOfCached(int i) {
+			int p = part;
+			if(i < starts[p] || i >= starts[p+1]){
+				part = p = partOf(i);
+			}
+			return p;
+		}
+		
+		@Override
+		public T get() {return get(index);}
+		@Override
+		public void set(T e) {set(index, e);}
+		@Override
+		protected T get(int i) {
+			int p = partOfCached(i);
+			return parts[p].get(partBegins[p]+i-starts[p]);
+		}
+		@Override
+		protected void set(int i, T e) {
+			int p = partOfCached(i);
+			parts[p].set(partBegins[p]+i-starts[p], e);
+		}
+		@Override
+		protected ConcatAccessor<T> clone() {
+			ConcatAccessor<T> clon = new ConcatAccessor<>(parts, partBegins, starts, part);
+			clon.setIndex(index);
+			return clon;
+		}
+		@Override
+		protected ConcatAccessor<T> copy() {
+			ArrayAccessor<T>[] copies = parts.clone();
+			for(int k = 0; k < parts.length; k++){
+				copies[k] = parts[k].copy();
+			}
+			ConcatAccessor<T> cpy = new ConcatAccessor<>(copies, partBegins, starts, part);
+			cpy.setIndex(index);
+			return cpy;
+		}
+		/** copies the overlapped ranges of the parts, the copy keeps the part boundaries */
+		@Override
+		protected ConcatAccessor<T> copyRange(int from, int length) {
+			int first = length > 0 ? partOf(from) : 0;
+			int last = length > 0 ? partOf(from+length-1) : -1;
+			int n = last-first+1;
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			ArrayAccessor<T>[] copies = new ArrayAccessor[n];
+			int[] lengths = new int[n];
+			for(int k = 0; k < n; k++){
+				int p = first+k;
+				int lo = Math.max(from, starts[p]);
+				int hi = Math.min(from+length, starts[p+1]);
+				copies[k] = parts[p].copyRange(partBegins[p]+lo-starts[p], hi-lo);
+				lengths[k] = hi-lo;
+			}
+			return new ConcatAccessor<>(copies, new int[n], lengths);
+		}
+		/** prefers the part boundary closest to mid when it is within a quarter of the range */
+		@Override
+		protected int alignSplit(int from, int mid, int to) {
+			int p = partOf(mid);
+			int lower = starts[p];
+			int upper = starts[p+1];
+			int boundary = mid-lower <= upper-mid ? lower:upper;
+			int quarter = (to-from)/4;
+			if(boundary > from && boundary <= to && Math.abs(boundary-mid) <= quarter){
+				return boundary;
+			}
+			return mid;
+		}
+	}
+	
+	
+	///////////////////////////////
+	// Merge Sort
+	///////////////////////////////
+	
+	static final int MERGE_SORT_THRESHOLD = 1<<13;
+	
+	/** stable merge sort of keys (with attached values) that forks for ranges above the threshold */
+	static final class MergeSortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		static final int INSERTION_SORT_THRESHOLD = 32;
+		
+		final Object[] keys, values, keyBuf, valueBuf;
+		final int from, to;
+		
+		MergeSortTask(Object[] keys, Object[] values, Object[] keyBuf, Object[] valueBuf, int from, int to) {
+			this.keys = keys;
+			this.values = values;
+			this.keyBuf = keyBuf;
+			this.valueBuf = valueBuf;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to-from > MERGE_SORT_THRESHOLD){
+				int mid = from + (to-from)/2;
+				invokeAll(
+						new MergeSortTask(keys, values, keyBuf, valueBuf, from, mid),
+						new MergeSortTask(keys, values, keyBuf, valueBuf, mid, to));
+				merge(from, mid, to);
+			} else {
+				sort(from, to);
+			}
+		}
+		
+		void sort(int from, int to) {
+			if(to-from <= INSERTION_SORT_THRESHOLD){
+				for(int i = from+1; i < to; i++){
+					Object k = keys[i], v = values[i];
+					int j = i-1;
+					for(; j >= from && compare(keys[j], k) > 0; j--){
+						keys[j+1] = keys[j];
+						values[j+1] = values[j];
+					}
+					keys[j+1] = k;
+					values[j+1] = v;
+				}
+			} else {
+				int mid = from + (to-from)/2;
+				sort(from, mid);
+				sort(mid, to);
+				merge(from, mid, to);
+			}
+		}
+		
+		void merge(int from, int mid, int to) {
+			if(compare(keys[mid-1], keys[mid]) <= 0)
+				return;
+			System.arraycopy(keys, from, keyBuf, from, to-from);
+			System.arraycopy(values, from, valueBuf, from, to-from);
+			int i = from, j = mid, k = from;
+			while(i < mid && j < to){
+				if(compare(keyBuf[j], keyBuf[i]) < 0){
+					keys[k] = keyBuf[j];
+					values[k++] = valueBuf[j++];
+				} else {
+					keys[k] = keyBuf[i];
+					values[k++] = valueBuf[i++];
+				}
+			}
+			System.arraycopy(keyBuf, i, keys, k, mid-i);
+			System.arraycopy(valueBuf, i, values, k, mid-i);
+			k += mid-i;
+			System.arraycopy(keyBuf, j, keys, k, to-j);
+			System.arraycopy(valueBuf, j, values, k, to-j);
+		}
+		
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		static int compare(Object a, Object b) {
+			return ((Comparable)a).compareTo(b);
+		}
+	}
 	
 	///////////////////////////////
 	// Iterator & Spliterator
@@ -540,6 +1598,7 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 			i++;
 			for(; i < endIndexExcl; i++){
 				acc.setIndex(i);
+				action.accept(acc);
 			}
 		}
 	}
@@ -590,7 +1649,7 @@ public class Slice<T> implements Iterable<Slice.ArrayAccessor<T>>{
 		@Override
 		public Spliterator<ArrayAccessor<T>> trySplit() {
 			int currentIdx = Math.min(acc.getIndex(), endIndex);
-			int midIdx = currentIdx + (endIndex-currentIdx)/2;
+			int midIdx = acc.alignSplit(currentIdx, currentIdx + (endIndex-currentIdx)/2, endIndex);
 			if(midIdx > currentIdx+minimumSplitSize){
 				AccessorSpliterator<T> split = new AccessorSpliterator<T>(midIdx, endIndex, minimumSplitSize, acc);
 				setEndIndex(midIdx-1);
@@ -0,0 +1,127 @@
+package array;
+
+import java.io.Serializable;
+
+/**
+ * Mergeable accumulator for count, min, max, mean and the central moments up to
+ * order four. Values are added one at a time (Welford's update) and partial results
+ * are merged pairwise (Chan's/Pebay's formulas), so statistics can be computed in
+ * a single parallel pass, e.g. by {@code DoubleSlice.summaryStatistics()}, and
+ * partial results of separate files or processes can be combined after serialization.
+ * Moments of an empty accumulator are NaN.
+ */
+public class SummaryStatistics implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private long count;
+	private double mean;
+	/** sums of the 2nd, 3rd and 4th powers of differences from the mean */
+	private double m2, m3, m4;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/** adds a value */
+	public void accept(double x) {
+		double n1 = count;
+		double n = ++count;
+		double delta = x - mean;
+		double deltaN = delta / n;
+		double deltaN2 = deltaN * deltaN;
+		double term1 = delta * deltaN * n1;
+		mean += deltaN;
+		m4 += term1 * deltaN2 * (n*n - 3*n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+		m3 += term1 * deltaN * (n - 2) - 3 * deltaN * m2;
+		m2 += term1;
+		min = Math.min(min, x);
+		max = Math.max(max, x);
+	}
+
+	/**
+	 * Merges the other statistics into this one.
+	 * @return this
+	 */
+	public SummaryStatistics combine(SummaryStatistics other) {
+		if(other.count == 0){
+			return this;
+		}
+		if(count == 0){
+			count = other.count; mean = other.mean;
+			m2 = other.m2; m3 = other.m3; m4 = other.m4;
+			min = other.min; max = other.max;
+			return this;
+		}
+		double na = count, nb = other.count;
+		double n = na + nb;
+		double delta = other.mean - mean;
+		double delta2 = delta * delta;
+		double m2a = m2, m3a = m3;
+		count += other.count;
+		mean += delta * nb / n;
+		m2 = m2a + other.m2 + delta2 * na * nb / n;
+		m3 = m3a + other.m3
+				+ delta2 * delta * na * nb * (na - nb) / (n*n)
+				+ 3 * delta * (na * other.m2 - nb * m2a) / n;
+		m4 = m4 + other.m4
+				+ delta2 * delta2 * na * nb * (na*na - na*nb + nb*nb) / (n*n*n)
+				+ 6 * delta2 * (na*na * other.m2 + nb*nb * m2a) / (n*n)
+				+ 4 * delta * (na * other.m3 - nb * m3a) / n;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		return this;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/** @return sum of the values, i.e. mean times count */
+	public double getSum() {
+		return count == 0 ? 0 : mean * count;
+	}
+
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/** @return population variance */
+	public double getVariance() {
+		return count == 0 ? Double.NaN : m2 / count;
+	}
+
+	/** @return unbiased sample variance, NaN for fewer than 2 values */
+	public double getSampleVariance() {
+		return count < 2 ? Double.NaN : m2 / (count - 1);
+	}
+
+	/** @return population standard deviation */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/** @return population skewness */
+	public double getSkewness() {
+		return count == 0 ? Double.NaN : Math.sqrt(count) * m3 / Math.pow(m2, 1.5);
+	}
+
+	/** @return population excess kurtosis (0 for a normal distribution) */
+	public double getKurtosis() {
+		return count == 0 ? Double.NaN : count * m4 / (m2 * m2) - 3;
+	}
+
+	/** @return minimum or positive infinity when empty */
+	public double getMin() {
+		return min;
+	}
+
+	/** @return maximum or negative infinity when empty */
+	public double getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] count=%d, min=%f, max=%f, mean=%f, variance=%f, skewness=%f, kurtosis=%f",
+				getClass().getSimpleName(), count, min, max, getMean(), getVariance(), getSkewness(), getKurtosis());
+	}
+
+}
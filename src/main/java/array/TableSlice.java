@@ -0,0 +1,354 @@
+package array;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Columnar view on records that are stored as several native arrays of equal
+ * length (struct of arrays). A single accessor walks all columns in lockstep and
+ * provides typed access to the column values at the current index, e.g.
+ * {@code getDouble(col)}. Selecting columns ({@link #select(int...)}) or rows
+ * ({@link #subSlice(int, int)}) creates views without copying, so that scans only
+ * touch the columns a query needs.
+ */
+public class TableSlice implements Iterable<TableSlice.RowAccessor> {
+
+	final Object[] columns;
+	final String[] names;
+	final int beginIdx;
+	final int size;
+
+	private TableSlice(Object[] columns, String[] names, int beginIdx, int size) {
+		this.columns = columns;
+		this.names = names;
+		this.beginIdx = beginIdx;
+		this.size = size;
+	}
+
+	///////////////////////////////
+	// Constructors
+	///////////////////////////////
+
+	/**
+	 * @param columns native arrays (int[], long[], float[], double[], short[], char[] or byte[])
+	 * @param beginIdx first row of the slice (inclusive)
+	 * @param length number of rows of the slice
+	 * @throws IllegalArgumentException when the range is negative, a column is not a native array
+	 * or is too short for the range
+	 */
+	public static TableSlice get(Object[] columns, int beginIdx, int length){
+		if(beginIdx < 0 || length < 0){
+			throw new IllegalArgumentException(String.format("Invalid range [%d,%d)", beginIdx, beginIdx+length));
+		}
+		String[] names = new String[columns.length];
+		for(int c = 0; c < columns.length; c++){
+			Object column = checkColumn(columns, c);
+			if(Array.getLength(column) < (long)beginIdx+length){
+				throw new IllegalArgumentException(String.format("Column %d is too short for range [%d,%d)", c, beginIdx, beginIdx+length));
+			}
+			names[c] = "col" + c;
+		}
+		return new TableSlice(columns.clone(), names, beginIdx, length);
+	}
+
+	/**
+	 * @param columns native arrays of equal length
+	 * @throws IllegalArgumentException when a column is not a native array or columns differ in length
+	 */
+	public static TableSlice get(Object... columns){
+		int length = 0;
+		for(int c = 0; c < columns.length; c++){
+			int columnLength = Array.getLength(checkColumn(columns, c));
+			if(c == 0){
+				length = columnLength;
+			} else if(columnLength != length){
+				throw new IllegalArgumentException(String.format("Column %d has length %d, column 0 has length %d", c, columnLength, length));
+			}
+		}
+		return get(columns, 0, length);
+	}
+
+	/**
+	 * @return the column at index c
+	 * @throws IllegalArgumentException when the column is null or not a native numeric array
+	 */
+	private static Object checkColumn(Object[] columns, int c) {
+		Object column = columns[c];
+		if(column == null){
+			throw new IllegalArgumentException("Column " + c + " is null");
+		}
+		if(!column.getClass().isArray() || !column.getClass().getComponentType().isPrimitive() || column instanceof boolean[]){
+			throw new IllegalArgumentException("Column " + c + " is not a native numeric array");
+		}
+		return column;
+	}
+
+	/** @return view with the specified column names */
+	public TableSlice withNames(String... names) {
+		if(names.length != columns.length){
+			throw new IllegalArgumentException(String.format("Expected %d names, got %d", columns.length, names.length));
+		}
+		return new TableSlice(columns, names.clone(), beginIdx, size);
+	}
+
+	///////////////////////////////
+	// Views
+	///////////////////////////////
+
+	/** @return view on the specified columns (in the specified order) that shares the arrays */
+	public TableSlice select(int... cols) {
+		Object[] selected = new Object[cols.length];
+		String[] selectedNames = new String[cols.length];
+		for(int c = 0; c < cols.length; c++){
+			selected[c] = columns[cols[c]];
+			selectedNames[c] = names[cols[c]];
+		}
+		return new TableSlice(selected, selectedNames, beginIdx, size);
+	}
+
+	/** @return view on the specified columns (in the specified order) that shares the arrays */
+	public TableSlice select(String... cols) {
+		int[] indices = new int[cols.length];
+		for(int c = 0; c < cols.length; c++){
+			indices[c] = columnIndex(cols[c]);
+		}
+		return select(indices);
+	}
+
+	/**
+	 * View on the rows [from, to) of this slice that shares the arrays.
+	 * @param from first row of the view relative to this slice (inclusive)
+	 * @param to last row of the view relative to this slice (exclusive)
+	 */
+	public TableSlice subSlice(int from, int to) {
+		if(from < 0 || to > size || from > to){
+			throw new IndexOutOfBoundsException(String.format("Range [%d,%d) not within [0,%d)", from, to, size));
+		}
+		return new TableSlice(columns, names, beginIdx+from, to-from);
+	}
+
+	///////////////////////////////
+	// Columns
+	///////////////////////////////
+
+	public int numColumns() {
+		return columns.length;
+	}
+
+	/** @throws IllegalArgumentException when there is no column of that name */
+	public int columnIndex(String name) {
+		for(int c = 0; c < names.length; c++){
+			if(names[c].equals(name))
+				return c;
+		}
+		throw new IllegalArgumentException("No column named " + name);
+	}
+
+	public String columnName(int col) {
+		return names[col];
+	}
+
+	/** @return component type of the column, e.g. double.class */
+	public Class<?> columnType(int col) {
+		return columns[col].getClass().getComponentType();
+	}
+
+	public IntSlice intColumn(int col) {return IntSlice.get((int[])columns[col], beginIdx, size);}
+
+	public LongSlice longColumn(int col) {return LongSlice.get((long[])columns[col], beginIdx, size);}
+
+	public FloatSlice floatColumn(int col) {return FloatSlice.get((float[])columns[col], beginIdx, size);}
+
+	public DoubleSlice doubleColumn(int col) {return DoubleSlice.get((double[])columns[col], beginIdx, size);}
+
+	public ShortSlice shortColumn(int col) {return ShortSlice.get((short[])columns[col], beginIdx, size);}
+
+	public CharSlice charColumn(int col) {return CharSlice.get((char[])columns[col], beginIdx, size);}
+
+	public ByteSlice byteColumn(int col) {return ByteSlice.get((byte[])columns[col], beginIdx, size);}
+
+	public int size() {
+		return size;
+	}
+
+	public int length() {
+		return size;
+	}
+
+	public int getBeginIdx() {
+		return beginIdx;
+	}
+
+	///////////////////////////////
+	// Traversal
+	///////////////////////////////
+
+	@Override
+	public Iterator<RowAccessor> iterator() {
+		return Spliterators.iterator(spliterator());
+	}
+
+	@Override
+	public Spliterator<RowAccessor> spliterator() {
+		return new RowSpliterator(beginIdx, beginIdx+size-1, Slice.estimateReasonableSplitSize(size), new RowAccessor(columns));
+	}
+
+	public Stream<RowAccessor> stream(boolean parallel) {
+		return StreamSupport.stream(spliterator(), parallel);
+	}
+
+	public Stream<RowAccessor> stream() {
+		return stream(false);
+	}
+
+	public Stream<RowAccessor> parallelStream() {
+		return stream(true);
+	}
+
+	@Override
+	public void forEach(Consumer<? super RowAccessor> action) {
+		spliterator().forEachRemaining(action);
+	}
+
+	public void forEachParallel(Consumer<? super RowAccessor> action) {
+		parallelStream().forEach(action);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("[%s] %s rows [%d,%d)", getClass().getSimpleName(), Arrays.toString(names), beginIdx, beginIdx+size);
+	}
+
+	///////////////////////////////
+	// Accessor & Spliterator
+	///////////////////////////////
+
+	/**
+	 * Accessor on the current row. The typed getters and setters require the column
+	 * to be of that type and throw a ClassCastException otherwise.
+	 */
+	public static final class RowAccessor implements Cloneable {
+		final Object[] columns;
+		int index;
+
+		RowAccessor(Object[] columns) {
+			this.columns = columns;
+		}
+
+		public int getInt(int col) {return ((int[])columns[col])[index];}
+		public long getLong(int col) {return ((long[])columns[col])[index];}
+		public float getFloat(int col) {return ((float[])columns[col])[index];}
+		public double getDouble(int col) {return ((double[])columns[col])[index];}
+		public short getShort(int col) {return ((short[])columns[col])[index];}
+		public char getChar(int col) {return ((char[])columns[col])[index];}
+		public byte getByte(int col) {return ((byte[])columns[col])[index];}
+
+		public void setInt(int col, int e) {((int[])columns[col])[index] = e;}
+		public void setLong(int col, long e) {((long[])columns[col])[index] = e;}
+		public void setFloat(int col, float e) {((float[])columns[col])[index] = e;}
+		public void setDouble(int col, double e) {((double[])columns[col])[index] = e;}
+		public void setShort(int col, short e) {((short[])columns[col])[index] = e;}
+		public void setChar(int col, char e) {((char[])columns[col])[index] = e;}
+		public void setByte(int col, byte e) {((byte[])columns[col])[index] = e;}
+
+		/** @return value of a column of any native type converted to double */
+		public double getAsDouble(int col) {
+			Object column = columns[col];
+			if(column instanceof double[]) return ((double[])column)[index];
+			if(column instanceof float[]) return ((float[])column)[index];
+			if(column instanceof int[]) return ((int[])column)[index];
+			if(column instanceof long[]) return ((long[])column)[index];
+			if(column instanceof short[]) return ((short[])column)[index];
+			if(column instanceof char[]) return ((char[])column)[index];
+			return ((byte[])column)[index];
+		}
+
+		public int getIndex(){ return index; }
+
+		public void setIndex(int i){index = i; }
+
+		/** only copies reference */
+		@Override
+		protected RowAccessor clone() {
+			RowAccessor clon = new RowAccessor(columns);
+			clon.index = index;
+			return clon;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("[%s] at index %d", getClass().getSimpleName(), index);
+		}
+	}
+
+	static final class RowSpliterator implements Spliterator<RowAccessor> {
+
+		final RowAccessor acc;
+		int endIndex;
+		final int minimumSplitSize;
+
+		/**
+		 * Constructs a new RowSpliterator for the specified index range
+		 * @param startIndex first index of the range (inclusive)
+		 * @param endIndex last index of the range (inclusive)
+		 * @param minSplitSize minimum split size for this spliterator (minimum number of elements in a split)
+		 */
+		RowSpliterator(int startIndex, int endIndex, int minSplitSize, RowAccessor acc) {
+			this.acc = acc.clone();
+			this.acc.index = startIndex;
+			this.endIndex = endIndex;
+			this.minimumSplitSize = minSplitSize;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super RowAccessor> action) {
+			if(acc.index <= endIndex){
+				int index = acc.index;
+				action.accept(acc);
+				acc.index = index+1;
+				return true;
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super RowAccessor> action) {
+			final RowAccessor acc = this.acc;
+			final int endIndex = this.endIndex;
+			for(int idx = acc.index; idx <= endIndex; acc.index = ++idx){
+				action.accept(acc);
+			}
+		}
+
+		@Override
+		public Spliterator<RowAccessor> trySplit() {
+			int currentIdx = Math.min(acc.index, endIndex);
+			int midIdx = currentIdx + (endIndex-currentIdx)/2;
+			if(midIdx > currentIdx+minimumSplitSize){
+				RowSpliterator split = new RowSpliterator(midIdx, endIndex, minimumSplitSize, acc);
+				endIndex = midIdx-1;
+				return split;
+			} else {
+				return null;
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return endIndex+1-acc.index;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | SIZED | CONCURRENT | SUBSIZED | IMMUTABLE;
+		}
+	}
+
+}
@@ -16,6 +16,7 @@ public class CodeGen {
 	static String[] generics = new String[]{"Integer", "Long", "Float", "Double", "Short", "Character", "Byte"};
 	static String[] natives = new String[]{"int", "long", "float", "double", "short", "char", "byte"};
 	static String[] natNames = new String[]{"Int", "Long", "Float", "Double", "Short", "Char", "Byte"};
+	static String[] accumulators = new String[]{"long", "long", "double", "double", "long", "long", "long"};
 	
 	public static void main(String[] args) {
 		generateNativeVersionsForGenerics(
@@ -23,6 +24,43 @@ public class CodeGen {
 				"ProtoSlice",
 				"Slice", 
 				new File("src/main/java/array/Slice.java"));
+		generateNativeVersionsForGenerics(
+				new File("src/main/java/array/ProtoOffHeapSlice.java"),
+				"ProtoOffHeapSlice",
+				"OffHeapSlice", 
+				new File("src/main/java/array/OffHeapSlice.java"));
+		generateNativeVersionsForGenerics(
+				new File("src/main/java/array/ProtoBigSlice.java"),
+				"ProtoBigSlice",
+				"BigSlice", 
+				new File("src/main/java/array/BigSlice.java"));
+		generateNativeClasses(
+				new File("src/main/java/array/ProtoNativeSlice.java"),
+				"ProtoNativeSlice",
+				"Slice",
+				new File("src/main/java/array"));
+		generateNativeClasses(
+				new File("src/main/java/array/ProtoNDSlice.java"),
+				"ProtoNDSlice",
+				"NDSlice",
+				new File("src/main/java/array"));
+		generateNativeClasses(
+				new File("src/main/java/array/ProtoNativeExpression.java"),
+				"ProtoNativeExpression",
+				"Expression",
+				new File("src/main/java/array"));
+		generateNativeClasses(
+				new File("src/main/java/array/ProtoCompressedSlice.java"),
+				"ProtoCompressedSlice",
+				"CompressedSlice",
+				new File("src/main/java/array"),
+				0, 1);
+		generateKeyValueClasses(
+				new File("src/main/java/array/ProtoPrimitiveMap.java"),
+				"ProtoPrimitiveMap",
+				"Map",
+				new File("src/main/java/array"),
+				new int[][]{{0,0},{0,3},{1,1},{1,3}});
 	}
 
 	
@@ -54,6 +92,7 @@ public class CodeGen {
  		final int FINDINGPROTO=10;
  		final int SCANNING=0;
  		int status = SCANNING;
+ 		boolean nativeOnly = false;
  		
  		ArrayList<String> proto = new ArrayList<>();
  		
@@ -63,7 +102,7 @@ public class CodeGen {
 			case FINDINGPROTO:
 				if(line.contains("////<<<<")){
 					status = SCANNING;
-					processPrototype(out, proto);
+					processPrototype(out, proto, nativeOnly);
 					proto.clear();
 				} else {
 					proto.add(line);
@@ -72,6 +111,10 @@ public class CodeGen {
 			default:
 				if(line.contains("////MKNATIVE>>>>")){
 					status = FINDINGPROTO;
+					nativeOnly = false;
+				} else if(line.contains("////MKNATIVEONLY>>>>")){
+					status = FINDINGPROTO;
+					nativeOnly = true;
 				} else {
 					out.print(line);
 				}
@@ -81,12 +124,71 @@ public class CodeGen {
 		
 	}
 	
-	static void processPrototype(PrintStream out, ArrayList<String> proto) {
+	/**
+	 * Generates one class file per native type from a prototype class that is
+	 * written for a single native type (e.g. double). The resulting classes are
+	 * named by prepending the native name to the class suffix, e.g. IntSlice.
+	 * Optionally restricted to the native types of the specified indices (e.g. 0 for int),
+	 * otherwise classes for all native types are generated.
+	 */
+	static void generateNativeClasses(File f_proto, String protoName, String classSuffix, File outDir, int... types) {
+		if(types.length == 0){
+			types = new int[]{0,1,2,3,4,5,6};
+		}
+		for(int i: types){
+			String className = natNames[i]+classSuffix;
+			try(
+					PrintStream out = new PrintStream(new File(outDir, className+".java"));
+			){
+				out.println("/* AUTOMATICALLY GENERATED FROM  "+ f_proto.getParent() +File.separator+ f_proto.getName() +" */");
+				ArrayList<String> proto = new ArrayList<>();
+				for(String line: new TextFileIterable(f_proto)){
+					proto.add(line.replaceAll(protoName, className));
+				}
+				processPrototype(out, proto, generics[i], natives[i], natNames[i], accumulators[i]);
+			} catch(Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * Generates one class file per combination of key and value type from a prototype
+	 * class that is written for long keys and double values. The combinations are given
+	 * as pairs of indices into the native types, e.g. {0,3} for IntDouble. The resulting
+	 * classes are named by prepending both native names to the class suffix, e.g. IntDoubleMap.
+	 * Tokens: K (key type), V (value type), RPLCK and RPLCV (like RPLC with key and value name).
+	 */
+	static void generateKeyValueClasses(File f_proto, String protoName, String classSuffix, File outDir, int[][] keyValueTypes) {
+		for(int[] kv: keyValueTypes){
+			String className = natNames[kv[0]]+natNames[kv[1]]+classSuffix;
+			try(
+					PrintStream out = new PrintStream(new File(outDir, className+".java"));
+			){
+				out.println("/* AUTOMATICALLY GENERATED FROM  "+ f_proto.getParent() +File.separator+ f_proto.getName() +" */");
+				for(String line: new TextFileIterable(f_proto)){
+					for(String item: line.replaceAll(protoName, className).split(rg("/**/"))){
+						item = item.replaceAll(rg("/*K*/.+"), natives[kv[0]]);
+						item = item.replaceAll(rg("/*V*/.+"), natives[kv[1]]);
+						item = doReplacement(item, "RPLCK", natNames[kv[0]]);
+						item = doReplacement(item, "RPLCV", natNames[kv[1]]);
+						out.print(item);
+					}
+				}
+			} catch(Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	static void processPrototype(PrintStream out, ArrayList<String> proto, boolean nativeOnly) {
 		
-		processPrototypeKeepGeneric(out, proto);
-		out.println();
+		if(!nativeOnly){
+			processPrototypeKeepGeneric(out, proto);
+			out.println();
+		}
 		for(int i = 0; i < 7; i++){
-			processPrototype(out, proto, generics[i], natives[i], natNames[i]);
+			processPrototype(out, proto, generics[i], natives[i], natNames[i], accumulators[i]);
 			out.println();
 		}
 	}
@@ -97,19 +199,29 @@ public class CodeGen {
 				token = token.replaceAll(rg("/*RM*/"), "");
 				token = token.replaceAll(rg("/*G*/"), "");
 				token = token.replaceAll(rg("/*N*/"), "");
+				token = token.replaceAll(rg("/*A*/"), "");
+				token = token.replaceAll(rg("/*NC*/"), "");
+				token = token.replaceAll(rg("/*AC*/"), "");
 				token = token.replaceAll(rg("/*RPLC:.+*/"), "");
 				out.print(token);
 			}
 		}
 	}
 
-	static void processPrototype(PrintStream out, ArrayList<String> proto, String gen, String nat, String name) {
+	/**
+	 * Tokens NC and AC are casts to the native and accumulator type that are only emitted
+	 * where the types differ, i.e. where the cast actually narrows or widens.
+	 */
+	static void processPrototype(PrintStream out, ArrayList<String> proto, String gen, String nat, String name, String acc) {
 		for(String line: proto){
 			String[] items = line.split(rg("/**/"));
 			for(String item: items){
 				item = item.replaceAll(rg("/*RM*/.+"), "");
+				item = item.replaceAll(rg("/*NC*/"), nat.equals(acc) ? "" : "("+nat+")");
+				item = item.replaceAll(rg("/*AC*/"), nat.equals(acc) ? "" : "("+acc+")");
 				item = item.replaceAll(rg("/*G*/.+"), gen);
 				item = item.replaceAll(rg("/*N*/.+"), nat);
+				item = item.replaceAll(rg("/*A*/.+"), acc);
 				item = doReplacement(item, name);
 				out.print(item);
 			}
@@ -129,6 +241,15 @@ public class CodeGen {
 		return s;
 	}
 	
+	static String doReplacement(String s, String tag, String r){
+		Matcher m = Pattern.compile(rg("/*"+tag+":(.+?)*/")).matcher(s);
+		if(!m.find())
+			return s;
+		String toReplace = m.group(1);
+		s = s.substring(0, m.start()) + s.substring(m.end());
+		return s.replaceAll(toReplace, r);
+	}
+	
 	static final Pattern rplcGroup = Pattern.compile(rg("/*RPLC:(.+?)*/"));
 	static String extractRPLC(String s){
 		Matcher m = rplcGroup.matcher(s);
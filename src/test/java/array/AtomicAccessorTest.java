@@ -0,0 +1,71 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class AtomicAccessorTest {
+
+	@Test
+	public void concurrentIncrementsReachTheSharedArray() {
+		int n = 1_000_000;
+		int bins = 10;
+		int[] values = new int[n];
+		for(int i = 0; i < n; i++){
+			values[i] = i%bins;
+		}
+		long[] counts = new long[bins];
+		LongSlice countSlice = LongSlice.get(counts);
+		IntSlice.get(values).boxed().forEachParallel(acc->countSlice.atomicAccessor(acc.get()).addAndGet(1));
+		for(long c: counts){
+			assertEquals(n/bins, c);
+		}
+	}
+
+	@Test
+	public void concurrentFloatingPointAccumulation() {
+		double[] sum = new double[1];
+		DoubleSlice target = DoubleSlice.get(sum);
+		Integer[] ones = new Integer[100_000];
+		Arrays.fill(ones, 1);
+		Slice.get(ones).forEachParallel(acc->target.atomicAccessor(0).addAndGet(acc.get()));
+		assertEquals(100_000, sum[0], 0);
+	}
+
+	@Test
+	public void accessorIndexIsAnArrayIndex() {
+		int[] a = {0, 1, 2, 3, 4};
+		IntSlice view = IntSlice.get(a).subSlice(2, 5);
+		IntSlice.AtomicAccessor first = view.atomicAccessor();
+		assertEquals(2, first.getIndex());
+		assertEquals(2, first.getAndSet(20));
+		assertTrue(view.atomicAccessor(4).compareAndSet(4, 40));
+		assertFalse(view.atomicAccessor(4).compareAndSet(4, 41));
+		assertEquals(99, view.atomicAccessor(3).accumulateAndGet(99, Math::max));
+		assertArrayEquals(new int[]{0, 1, 20, 99, 40}, a);
+	}
+
+	@Test
+	public void narrowTypesWrapAround() {
+		byte[] b = {Byte.MAX_VALUE};
+		assertEquals(Byte.MIN_VALUE, ByteSlice.get(b).atomicAccessor(0).addAndGet((byte)1));
+		char[] c = {'a'};
+		assertEquals('b', CharSlice.get(c).atomicAccessor(0).updateAndGet(x->(char)(x+1)));
+		assertEquals('b', c[0]);
+	}
+
+	@Test
+	public void compareAndSetOfNaNComparesBits() {
+		float[] f = {Float.NaN};
+		assertTrue(FloatSlice.get(f).atomicAccessor(0).compareAndSet(Float.NaN, 1f));
+		assertEquals(1f, f[0], 0);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void accessOutOfBoundsThrows() {
+		IntSlice.get(new int[2]).atomicAccessor(2).getInt();
+	}
+
+}
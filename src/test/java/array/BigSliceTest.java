@@ -0,0 +1,51 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BigSliceTest {
+
+	@Test
+	public void singleChunkOfAnyLength() {
+		for(int n: new int[]{0, 1, 3, 1000, 1024, 1025}){
+			double[] chunk = new double[n];
+			for(int i = 0; i < n; i++){
+				chunk[i] = i;
+			}
+			BigSlice<Double> slice = BigSlice.get(new double[][]{chunk});
+			assertEquals(n, slice.size());
+			assertEquals(n*(n-1.0)/2, slice.stream(true).mapToDouble(acc->acc.get()).sum(), 0);
+			if(n > 0){
+				assertEquals(n-1, slice.getAt(n-1), 0);
+			}
+		}
+	}
+
+	@Test
+	public void valuesAcrossChunks() {
+		long[][] chunks = new long[5][];
+		for(int k = 0; k < chunks.length; k++){
+			chunks[k] = new long[k < 4 ? 64 : 10];
+		}
+		BigSlice<Long> slice = BigSlice.get(chunks);
+		assertEquals(4*64+10, slice.size());
+		slice.forEachParallel(acc->acc.set(acc.getIndex()*2));
+		for(long i = 0; i < slice.size(); i++){
+			assertEquals(i*2, (long)slice.getAt(i));
+		}
+		assertEquals(126, chunks[0][63]);
+		assertEquals(128, chunks[1][0]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsChunksThatAreNotPowersOfTwo() {
+		BigSlice.get(new double[][]{new double[1000], new double[10]});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsLastChunkLongerThanTheOthers() {
+		BigSlice.get(new double[][]{new double[64], new double[100]});
+	}
+
+}
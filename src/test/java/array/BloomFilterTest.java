@@ -0,0 +1,82 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+	@Test
+	public void containsAllInsertedValuesAndFewOthers() {
+		int n = 500_000;
+		int[] ints = new int[n];
+		for(int i = 0; i < n; i++){
+			ints[i] = i*31;
+		}
+		BloomFilter filter = BloomFilter.of(IntSlice.get(ints), 0.01);
+		for(int x: ints){
+			assertTrue(filter.mightContain(x));
+			assertTrue(filter.mightContain((long)x));
+		}
+		int falsePositives = 0;
+		for(int i = 0; i < n; i++){
+			if(filter.mightContain(-1-i))
+				falsePositives++;
+		}
+		assertEquals(0.01, falsePositives/(double)n, 0.005);
+		assertEquals(0.01, filter.expectedFpp(), 0.005);
+	}
+
+	@Test
+	public void intsAndLongsSetTheSameBits() {
+		int[] ints = {1, -5, 1 << 30, Integer.MIN_VALUE};
+		long[] longs = {1, -5, 1 << 30, Integer.MIN_VALUE};
+		BloomFilter fromInts = BloomFilter.of(IntSlice.get(ints), 0.001);
+		BloomFilter fromLongs = BloomFilter.of(LongSlice.get(longs), 0.001);
+		for(long x: longs){
+			assertTrue(fromInts.mightContain(x));
+			assertTrue(fromLongs.mightContain((int)x));
+		}
+		assertEquals(fromInts.expectedFpp(), fromLongs.expectedFpp(), 0);
+	}
+
+	@Test
+	public void mergeContainsBothSets() {
+		BloomFilter a = new BloomFilter(1000, 0.01);
+		BloomFilter b = new BloomFilter(1000, 0.01);
+		for(long x = 0; x < 500; x++){
+			a.put(x);
+			b.put(-x-1);
+		}
+		assertSame(a, a.merge(b));
+		for(long x = 0; x < 500; x++){
+			assertTrue(a.mightContain(x));
+			assertTrue(a.mightContain(-x-1));
+		}
+	}
+
+	@Test
+	public void buildsFromBoxedSlices() {
+		Integer[] values = {3, 1, 4, 1, 5};
+		BloomFilter filter = BloomFilter.of(Slice.get(values), 0.01);
+		for(int x: values){
+			assertTrue(filter.mightContain(x));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidFpp() {
+		new BloomFilter(100, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveInsertions() {
+		new BloomFilter(0, 0.01);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mergeRejectsDifferentSizes() {
+		new BloomFilter(100, 0.01).merge(new BloomFilter(10_000, 0.01));
+	}
+
+}
@@ -0,0 +1,96 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CompressedSliceTest {
+
+	static void assertRoundTrip(long[] values) {
+		LongCompressedSlice compressed = LongCompressedSlice.encode(LongSlice.get(values));
+		assertEquals(values.length, compressed.size());
+		assertArrayEquals(values, compressed.toArray());
+		assertArrayEquals(values, compressed.decode().copy().array);
+		assertArrayEquals(values, compressed.stream().toArray());
+		assertArrayEquals(values, compressed.parallelStream().toArray());
+		for(int i = 0; i < values.length; i++){
+			assertEquals(values[i], compressed.getAt(i));
+		}
+	}
+
+	static void assertRoundTrip(int[] values) {
+		IntCompressedSlice compressed = IntCompressedSlice.encode(IntSlice.get(values));
+		assertArrayEquals(values, compressed.toArray());
+		assertArrayEquals(values, compressed.parallelStream().toArray());
+		for(int i = 0; i < values.length; i++){
+			assertEquals(values[i], compressed.getAt(i));
+		}
+	}
+
+	@Test
+	public void sortedTimestampsCompressWell() {
+		long[] timestamps = new long[100_000];
+		Random rnd = new Random(1);
+		timestamps[0] = 1_600_000_000_000L;
+		for(int i = 1; i < timestamps.length; i++){
+			timestamps[i] = timestamps[i-1] + 1000 + rnd.nextInt(16);
+		}
+		assertRoundTrip(timestamps);
+		assertTrue(LongCompressedSlice.encode(LongSlice.get(timestamps)).compressionRatio() > 8);
+	}
+
+	@Test
+	public void extremeDeltasRoundTrip() {
+		Random rnd = new Random(2);
+		long[] longs = new long[10_000];
+		int[] ints = new int[10_000];
+		for(int i = 0; i < longs.length; i++){
+			longs[i] = i%7 == 0 ? (i%2 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE) : rnd.nextLong();
+			ints[i] = i%7 == 0 ? (i%2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE) : rnd.nextInt();
+		}
+		assertRoundTrip(longs);
+		assertRoundTrip(ints);
+	}
+
+	@Test
+	public void constantAndDecreasingBlocks() {
+		long[] constant = new long[1000];
+		Arrays.fill(constant, -42);
+		assertRoundTrip(constant);
+		int[] decreasing = new int[1000];
+		for(int i = 0; i < decreasing.length; i++){
+			decreasing[i] = 5000-i*3;
+		}
+		assertRoundTrip(decreasing);
+	}
+
+	@Test
+	public void partialLastBlockAndTinySizes() {
+		for(int n: new int[]{0, 1, 2, 127, 128, 129, 1000}){
+			int[] values = new int[n];
+			for(int i = 0; i < n; i++){
+				values[i] = i*i;
+			}
+			assertRoundTrip(values);
+		}
+	}
+
+	@Test
+	public void encodesOnlyTheRangeOfTheSlice() {
+		long[] values = new long[1000];
+		for(int i = 0; i < values.length; i++){
+			values[i] = i*3;
+		}
+		LongCompressedSlice compressed = LongCompressedSlice.encode(LongSlice.get(values).subSlice(100, 400));
+		assertArrayEquals(Arrays.copyOfRange(values, 100, 400), compressed.toArray());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getAtChecksBounds() {
+		IntCompressedSlice.encode(IntSlice.get(new int[]{1, 2, 3})).getAt(3);
+	}
+
+}
@@ -0,0 +1,63 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+	@Test
+	public void equalWidthBinsIncludeMaxInTheLastBin() {
+		double[] a = {0, 0.5, 1, 9.99, 10, -1, 11, Double.NaN};
+		assertArrayEquals(new long[]{2, 1, 0, 0, 0, 0, 0, 0, 0, 2}, DoubleSlice.get(a).histogram(10, 0, 10));
+	}
+
+	@Test
+	public void parallelHistogramMatchesSequentialCounts() {
+		int n = 1_000_000;
+		int[] a = new int[n];
+		long[] expected = new long[16];
+		Random rnd = new Random(1);
+		for(int i = 0; i < n; i++){
+			a[i] = rnd.nextInt(160);
+			expected[a[i]/10]++;
+		}
+		assertArrayEquals(expected, IntSlice.get(a).histogram(16, 0, 160-1e-9));
+	}
+
+	@Test
+	public void customEdges() {
+		long[] a = {1, 2, 3, 5, 8, 13, 21};
+		assertArrayEquals(new long[]{2, 2, 3}, LongSlice.get(a).histogram(new double[]{1, 3, 8, 21}));
+	}
+
+	@Test
+	public void bincountOfIntegralValues() {
+		assertArrayEquals(new long[]{1, 0, 3, 1}, IntSlice.get(new int[]{2, 0, 2, 3, 2}).bincount());
+		assertArrayEquals(new long[]{0, 2}, DoubleSlice.get(new double[]{1, 1}).bincount());
+		assertArrayEquals(new long[0], ByteSlice.get(new byte[0]).bincount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bincountRejectsNegativeValues() {
+		IntSlice.get(new int[]{1, -1}).bincount();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bincountRejectsNaN() {
+		DoubleSlice.get(new double[]{1, Double.NaN}).bincount();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bincountRejectsNonIntegralValues() {
+		FloatSlice.get(new float[]{1, 2.5f}).bincount();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void histogramRejectsEmptyRange() {
+		IntSlice.get(new int[]{1}).histogram(4, 1, 1);
+	}
+
+}
@@ -0,0 +1,78 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+	static void assertEstimate(long expected, HyperLogLog sketch) {
+		double tolerance = Math.max(2, 4*sketch.standardError()*expected);
+		assertEquals(expected, sketch.estimate(), tolerance);
+	}
+
+	@Test
+	public void estimatesDistinctCountOfIntsAndLongs() {
+		int n = 2_000_000;
+		int distinct = 500_000;
+		int[] ints = new int[n];
+		long[] longs = new long[n];
+		Random rnd = new Random(1);
+		for(int i = 0; i < n; i++){
+			ints[i] = rnd.nextInt(distinct)*7919;
+			longs[i] = ints[i];
+		}
+		HyperLogLog fromInts = HyperLogLog.of(IntSlice.get(ints), 14);
+		HyperLogLog fromLongs = HyperLogLog.of(LongSlice.get(longs), 14);
+		// every value of [0, distinct) is drawn with overwhelming probability
+		assertEstimate(distinct, fromInts);
+		assertEquals(fromInts.estimate(), fromLongs.estimate());
+	}
+
+	@Test
+	public void smallCardinalitiesAreNearlyExact() {
+		for(int distinct: new int[]{0, 1, 10, 100, 1000}){
+			HyperLogLog sketch = new HyperLogLog();
+			for(int repeat = 0; repeat < 3; repeat++){
+				for(long x = 0; x < distinct; x++){
+					sketch.accept(x*1_000_003);
+				}
+			}
+			assertEstimate(distinct, sketch);
+		}
+	}
+
+	@Test
+	public void mergeEstimatesTheUnion() {
+		HyperLogLog a = new HyperLogLog(12);
+		HyperLogLog b = new HyperLogLog(12);
+		for(long x = 0; x < 300_000; x++){
+			a.accept(x);
+			b.accept(x+200_000);
+		}
+		assertSame(a, a.merge(b));
+		assertEstimate(500_000, a);
+	}
+
+	@Test
+	public void buildsFromBoxedSlices() {
+		Long[] values = new Long[100_000];
+		for(int i = 0; i < values.length; i++){
+			values[i] = (long)(i%20_000);
+		}
+		assertEstimate(20_000, HyperLogLog.of(Slice.get(values), 14));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsPrecisionOutOfRange() {
+		new HyperLogLog(19);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mergeRejectsDifferentPrecision() {
+		new HyperLogLog(10).merge(new HyperLogLog(11));
+	}
+
+}
@@ -0,0 +1,92 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedOffHeapSliceTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** file of the values 0 to n-1 as little endian doubles followed by the trailing bytes */
+	Path writeDoubles(int n, int trailingBytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(n*Double.BYTES+trailingBytes).order(ByteOrder.LITTLE_ENDIAN);
+		for(int i = 0; i < n; i++){
+			buffer.putDouble(i);
+		}
+		Path file = folder.newFile().toPath();
+		Files.write(file, buffer.array());
+		return file;
+	}
+
+	static double readDouble(Path file, int i) throws IOException {
+		return ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).getDouble(i*Double.BYTES);
+	}
+
+	@Test
+	public void mapsValuesAcrossChunkBoundaries() throws IOException {
+		Path file = writeDoubles(1000, 0);
+		int shift = 6;
+		for(MapMode mode: new MapMode[]{MapMode.READ_ONLY, MapMode.READ_WRITE, MapMode.PRIVATE}){
+			ByteBuffer[] chunks = OffHeapSlice.mapChunks(file, mode, ByteOrder.LITTLE_ENDIAN, shift, Double.BYTES);
+			assertEquals(16, chunks.length);
+			try(OffHeapSlice<Double> offHeap = new OffHeapSlice<>(new OffHeapSlice.DoubleBufferAccessor(chunks, shift), 1000)){
+				Slice<Double> slice = offHeap.slice();
+				for(int i = 0; i < 1000; i++){
+					assertEquals(i, slice.getAt(i), 0);
+				}
+				assertEquals(1000*999.0/2, offHeap.stream(true).mapToDouble(acc->acc.get()).sum(), 0);
+			}
+		}
+	}
+
+	@Test
+	public void trailingBytesAreNotMapped() throws IOException {
+		Path file = writeDoubles(10, 3);
+		try(OffHeapSlice<Double> offHeap = OffHeapSlice.mapDouble(file, MapMode.READ_ONLY, ByteOrder.LITTLE_ENDIAN)){
+			assertEquals(10, offHeap.size());
+			assertEquals(9, offHeap.slice().getAt(9), 0);
+		}
+	}
+
+	@Test
+	public void readWriteWritesThroughToTheFile() throws IOException {
+		Path file = writeDoubles(100, 0);
+		try(OffHeapSlice<Double> offHeap = OffHeapSlice.mapDouble(file, MapMode.READ_WRITE, ByteOrder.LITTLE_ENDIAN)){
+			offHeap.slice().setAt(42, -1.0);
+			offHeap.force();
+		}
+		assertEquals(-1, readDouble(file, 42), 0);
+	}
+
+	@Test
+	public void privateDoesNotWriteThroughAndNeedsNoWriteAccess() throws IOException {
+		Path file = writeDoubles(100, 0);
+		assertTrue(file.toFile().setReadOnly());
+		try(OffHeapSlice<Double> offHeap = OffHeapSlice.mapDouble(file, MapMode.PRIVATE, ByteOrder.LITTLE_ENDIAN)){
+			offHeap.slice().setAt(42, -1.0);
+			assertEquals(-1, offHeap.slice().getAt(42), 0);
+		}
+		assertEquals(42, readDouble(file, 42), 0);
+	}
+
+	@Test
+	public void byteOrderOfTheFileIsRespected() throws IOException {
+		Path file = writeDoubles(4, 0);
+		try(OffHeapSlice<Double> offHeap = OffHeapSlice.mapDouble(file, MapMode.READ_ONLY, ByteOrder.BIG_ENDIAN)){
+			double expected = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(0, 3).order(ByteOrder.BIG_ENDIAN).getDouble(0);
+			assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(offHeap.slice().getAt(3)));
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class NDSliceTest {
+
+	static int[] range(int n) {
+		int[] a = new int[n];
+		for(int i = 0; i < n; i++){
+			a[i] = i;
+		}
+		return a;
+	}
+
+	@Test
+	public void rowMajorViewsShareTheArray() {
+		int[] a = range(24);
+		IntNDSlice nd = IntNDSlice.get(a, 2, 3, 4);
+		assertEquals(3, nd.rank());
+		assertEquals(24, nd.size());
+		assertTrue(nd.isContiguous());
+		assertEquals(1*12+2*4+3, nd.get(1, 2, 3));
+		IntNDSlice plane = nd.slice(0, 1);
+		assertEquals(12, plane.get(0, 0));
+		plane.set(-1, 2, 3);
+		assertEquals(-1, a[23]);
+	}
+
+	@Test
+	public void transposeSwapsTheLastDimensions() {
+		IntNDSlice matrix = IntNDSlice.get(range(6), 2, 3);
+		IntNDSlice t = matrix.transpose();
+		assertArrayEquals(new int[]{3, 2}, t.getShape());
+		assertFalse(t.isContiguous());
+		for(int i = 0; i < 2; i++){
+			for(int j = 0; j < 3; j++){
+				assertEquals(matrix.get(i, j), t.get(j, i));
+			}
+		}
+		assertArrayEquals(new int[]{0, 3, 1, 4, 2, 5}, t.copy().flat().copy().array);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void transposeRejectsRankOne() {
+		IntNDSlice.get(range(6), 6).transpose();
+	}
+
+	@Test
+	public void parallelTraversalInRowMajorOrder() {
+		int[] a = range(1000);
+		IntNDSlice view = IntNDSlice.get(a, 10, 100).step(1, 3).range(0, 2, 8);
+		assertEquals(6*34, view.size());
+		long expected = 0;
+		for(int i = 2; i < 8; i++){
+			for(int j = 0; j < 100; j += 3){
+				expected += a[i*100+j];
+			}
+		}
+		assertEquals(expected, view.parallelStream().mapToLong(acc->acc.getInt()).sum());
+	}
+
+	@Test
+	public void emptyExtentsAreAllowed() {
+		assertEquals(0, IntNDSlice.get(new int[0], 1 << 20, 0).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsShapesWithTooManyElements() {
+		new IntNDSlice(new int[1], 0, new int[]{1 << 16, 1 << 16}, new int[]{0, 0});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsShapesExceedingTheArray() {
+		IntNDSlice.get(new int[10], 3, 4);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNegativeExtents() {
+		IntNDSlice.get(new int[10], 2, -1);
+	}
+
+}
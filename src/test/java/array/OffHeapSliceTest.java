@@ -0,0 +1,99 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class OffHeapSliceTest {
+
+	/** slice with chunks of 2^shift values so that chunk boundaries are reached with few values */
+	static OffHeapSlice<Double> chunked(int length, int shift) {
+		return new OffHeapSlice<>(new OffHeapSlice.DoubleBufferAccessor(OffHeapSlice.allocateChunks(length, shift, Double.BYTES), shift), length);
+	}
+
+	@Test
+	public void valuesAcrossChunkBoundaries() {
+		try(OffHeapSlice<Double> offHeap = chunked(1000, 6)){
+			Slice<Double> slice = offHeap.slice();
+			assertEquals(16, offHeap.accessor.chunks.length);
+			for(int i = 0; i < 1000; i++){
+				slice.setAt(i, (double)i);
+			}
+			for(int i = 0; i < 1000; i++){
+				assertEquals(i, slice.getAt(i), 0);
+			}
+		}
+	}
+
+	@Test
+	public void parallelTraversalVisitsEachElementOnce() {
+		try(OffHeapSlice<Double> offHeap = chunked(100_000, 10)){
+			offHeap.slice().forEachParallel(acc->acc.set((double)acc.getIndex()));
+			assertEquals(100_000, offHeap.stream(true).count());
+			double sum = offHeap.stream(true).mapToDouble(acc->acc.get()).sum();
+			assertEquals(100_000*99_999.0/2, sum, 0);
+		}
+	}
+
+	@Test
+	public void splitsAlignToChunkAndPageBoundaries() {
+		try(OffHeapSlice<Double> offHeap = chunked(1000, 6)){
+			assertEquals(512, offHeap.accessor.alignSplit(0, 500, 1000));
+		}
+		try(OffHeapSlice<Double> offHeap = OffHeapSlice.allocateDouble(10_000)){
+			// 512 doubles per page
+			assertEquals(4608, offHeap.accessor.alignSplit(0, 5000, 10_000));
+		}
+	}
+
+	@Test
+	public void copyIsIndependentOfTheOriginal() {
+		try(OffHeapSlice<Double> offHeap = chunked(200, 5)){
+			Slice<Double> slice = offHeap.slice();
+			slice.forEach(acc->acc.set(1.0));
+			Slice<Double> copy = slice.subSlice(50, 150).copy();
+			slice.setAt(60, 2.0);
+			assertEquals(100, copy.size());
+			assertEquals(1.0, copy.getAt(10), 0);
+			copy.setAt(0, 3.0);
+			assertEquals(1.0, slice.getAt(50), 0);
+		}
+	}
+
+	@Test
+	public void accessAfterCloseThrows() {
+		OffHeapSlice<Double> offHeap = chunked(100, 4);
+		Slice<Double> slice = offHeap.slice();
+		Slice<Double> view = slice.subSlice(20, 80).stride(2);
+		offHeap.close();
+		offHeap.close();
+		assertTrue(offHeap.isClosed());
+		try {
+			offHeap.slice();
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		try {
+			slice.getAt(50);
+			fail();
+		} catch (NullPointerException e) {
+			// expected
+		}
+		try {
+			view.getAt(view.getBeginIdx());
+			fail();
+		} catch (NullPointerException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void emptySlice() {
+		try(OffHeapSlice<Double> offHeap = OffHeapSlice.allocateDouble(0)){
+			assertEquals(0, offHeap.size());
+			assertEquals(0, offHeap.stream(true).count());
+		}
+	}
+
+}
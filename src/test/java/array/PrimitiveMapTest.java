@@ -0,0 +1,136 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PrimitiveMapTest {
+
+	static void assertSameEntries(Map<Long, Long> expected, LongLongMap map) {
+		assertEquals(expected.size(), map.size());
+		for(Map.Entry<Long, Long> e: expected.entrySet()){
+			assertTrue(map.containsKey(e.getKey()));
+			assertEquals((long)e.getValue(), map.get(e.getKey(), -1));
+		}
+		// removal leaves no tombstones, occupied slots are exactly the non zero keys
+		int occupied = 0;
+		for(long k: map.keys){
+			if(k != 0)
+				occupied++;
+		}
+		assertEquals(map.size, occupied);
+	}
+
+	@Test
+	public void randomOperationsLikeHashMap() {
+		Random rnd = new Random(1);
+		Map<Long, Long> expected = new HashMap<>();
+		LongLongMap map = new LongLongMap(4);
+		for(int op = 0; op < 200_000; op++){
+			// small key range so that puts and removes hit the same keys and probe sequences collide
+			long key = rnd.nextInt(2000)-1000;
+			switch(rnd.nextInt(3)){
+			case 0:
+				map.put(key, op);
+				expected.put(key, (long)op);
+				break;
+			case 1:
+				assertEquals(expected.remove(key) != null, map.remove(key));
+				break;
+			default:
+				long merged = map.merge(key, 1, (a,b)->a+b);
+				assertEquals(merged, (long)expected.merge(key, 1L, Long::sum));
+			}
+			if(op % 10_000 == 0){
+				assertSameEntries(expected, map);
+			}
+		}
+		assertSameEntries(expected, map);
+	}
+
+	@Test
+	public void removeShiftsBackAcrossTheEndOfTheTable() {
+		LongLongMap map = new LongLongMap(8);
+		int last = map.mask;
+		// keys whose probe sequence begins in the last slot and wraps around to the first slots
+		long[] wrapping = new long[4];
+		int n = 0;
+		for(long key = 1; n < wrapping.length; key++){
+			if(((int)Natives.mix64(key) & last) == last){
+				wrapping[n++] = key;
+			}
+		}
+		for(long key: wrapping){
+			map.put(key, key*10);
+		}
+		assertTrue(map.remove(wrapping[0]));
+		assertFalse(map.remove(wrapping[0]));
+		for(int i = 1; i < wrapping.length; i++){
+			assertEquals(wrapping[i]*10, map.get(wrapping[i], -1));
+		}
+		assertEquals(3, map.size());
+		assertTrue(map.remove(wrapping[2]));
+		assertEquals(wrapping[3]*10, map.get(wrapping[3], -1));
+		assertEquals(wrapping[1]*10, map.get(wrapping[1], -1));
+	}
+
+	@Test
+	public void zeroKeyIsStoredSeparately() {
+		LongLongMap map = new LongLongMap();
+		assertFalse(map.containsKey(0));
+		assertEquals(-1, map.get(0, -1));
+		map.put(0, 7);
+		map.put(1, 8);
+		assertEquals(2, map.size());
+		assertEquals(7, map.get(0, -1));
+		assertEquals(9, map.merge(0, 2, (a,b)->a+b));
+		long[] keys = map.keys();
+		long[] values = map.values();
+		assertEquals(0, keys[0]);
+		assertEquals(9, values[0]);
+		assertTrue(map.remove(0));
+		assertFalse(map.containsKey(0));
+		assertEquals(1, map.size());
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(1));
+	}
+
+	@Test
+	public void groupBySumsValuesPerKey() {
+		int n = 1_000_000;
+		int[] keys = new int[n];
+		double[] values = new double[n];
+		Map<Integer, Double> expected = new HashMap<>();
+		Random rnd = new Random(2);
+		for(int i = 0; i < n; i++){
+			keys[i] = rnd.nextInt(5000)-2500;
+			values[i] = rnd.nextInt(100);
+			expected.merge(keys[i], values[i], Double::sum);
+		}
+		IntDoubleMap sums = IntDoubleMap.groupBy(IntSlice.get(keys), DoubleSlice.get(values), (a,b)->a+b);
+		assertEquals(expected.size(), sums.size());
+		sums.forEach((k,v)->assertEquals(expected.get(k), v, 0));
+	}
+
+	@Test
+	public void groupByOnSubSlices() {
+		long[] keys = {9, 1, 2, 1, 2, 9};
+		long[] values = {100, 1, 2, 3, 4, 100};
+		LongLongMap max = LongLongMap.groupBy(LongSlice.get(keys).subSlice(1, 5), LongSlice.get(values).subSlice(1, 5), Math::max);
+		assertEquals(2, max.size());
+		assertEquals(3, max.get(1, -1));
+		assertEquals(4, max.get(2, -1));
+		assertFalse(max.containsKey(9));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void groupByRejectsSizeMismatch() {
+		IntIntMap.groupBy(IntSlice.get(new int[2]), IntSlice.get(new int[3]), (a,b)->a+b);
+	}
+
+}
@@ -0,0 +1,135 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class QuantileSketchTest {
+
+	static final int N = 1_000_000;
+	/** allowed rank error, about twice the expected error for the default k */
+	static final double EPS = 0.02;
+
+	/** values 0 to n-1 in random order */
+	static double[] shuffled(int n, long seed) {
+		double[] a = new double[n];
+		for(int i = 0; i < n; i++){
+			a[i] = i;
+		}
+		Random rnd = new Random(seed);
+		for(int i = n-1; i > 0; i--){
+			int j = rnd.nextInt(i+1);
+			double tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+		}
+		return a;
+	}
+
+	static void assertAccurate(QuantileSketch sketch, int n) {
+		for(double q = 0.05; q < 1; q += 0.05){
+			assertEquals(q*n, sketch.quantile(q), EPS*n);
+			assertEquals(q, sketch.rank(q*n), EPS);
+		}
+		assertEquals(0, sketch.quantile(0), 0);
+		assertEquals(n-1, sketch.quantile(1), 0);
+	}
+
+	@Test
+	public void quantilesAndRanksWithinErrorBound() {
+		QuantileSketch sketch = new QuantileSketch();
+		for(double x: shuffled(N, 1)){
+			sketch.accept(x);
+		}
+		assertEquals(N, sketch.getN());
+		assertTrue(sketch.getRetained() < 10*sketch.getK());
+		assertAccurate(sketch, N);
+	}
+
+	@Test
+	public void parallelBuildFromSlice() {
+		double[] a = shuffled(N, 2);
+		Double[] boxed = new Double[N];
+		for(int i = 0; i < N; i++){
+			boxed[i] = a[i];
+		}
+		QuantileSketch sketch = QuantileSketch.of(Slice.get(boxed));
+		assertEquals(N, sketch.getN());
+		assertAccurate(sketch, N);
+	}
+
+	@Test
+	public void mergedHalvesAreAccurate() {
+		double[] a = shuffled(N, 3);
+		QuantileSketch left = new QuantileSketch();
+		QuantileSketch right = new QuantileSketch();
+		for(int i = 0; i < N; i++){
+			(a[i] < N/2 ? left : right).accept(a[i]);
+		}
+		QuantileSketch merged = left.merge(right);
+		assertSame(left, merged);
+		assertEquals(N, merged.getN());
+		assertAccurate(merged, N);
+		assertEquals(N/2, right.getN());
+	}
+
+	@Test
+	public void mergeWithItselfCountsValuesTwice() {
+		QuantileSketch sketch = new QuantileSketch(50);
+		for(double x: shuffled(10_000, 4)){
+			sketch.accept(x);
+		}
+		sketch.merge(sketch);
+		assertEquals(20_000, sketch.getN());
+		assertEquals(5000, sketch.quantile(0.5), 0.05*10_000);
+		assertEquals(0.25, sketch.rank(2500), 0.05);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mergeRejectsDifferentK() {
+		new QuantileSketch(100).merge(new QuantileSketch(200));
+	}
+
+	@Test
+	public void serializationRoundTrip() {
+		QuantileSketch sketch = new QuantileSketch();
+		for(double x: shuffled(100_000, 5)){
+			sketch.accept(x);
+		}
+		QuantileSketch copy = QuantileSketch.fromBytes(sketch.toBytes());
+		assertEquals(sketch.getN(), copy.getN());
+		assertEquals(sketch.getK(), copy.getK());
+		assertEquals(sketch.getRetained(), copy.getRetained());
+		for(double q = 0; q <= 1; q += 0.1){
+			assertEquals(sketch.quantile(q), copy.quantile(q), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fromBytesRejectsGarbage() {
+		QuantileSketch.fromBytes(new byte[]{1, 2, 3});
+	}
+
+	@Test
+	public void smallSketchIsExactAndIgnoresNaN() {
+		QuantileSketch sketch = new QuantileSketch();
+		for(double x: new double[]{5, Double.NaN, 1, 3}){
+			sketch.accept(x);
+		}
+		assertEquals(3, sketch.getN());
+		assertEquals(1, sketch.getMin(), 0);
+		assertEquals(5, sketch.getMax(), 0);
+		assertEquals(3, sketch.quantile(0.5), 0);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void emptySketchHasNoQuantiles() {
+		new QuantileSketch().quantile(0.5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSmallK() {
+		new QuantileSketch(7);
+	}
+
+}
@@ -0,0 +1,82 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ScanTest {
+
+	static final int N = 300_000;
+
+	static int[] randomInts(long seed) {
+		Random rnd = new Random(seed);
+		int[] a = new int[N];
+		for(int i = 0; i < N; i++){
+			a[i] = rnd.nextInt(2001)-1000;
+		}
+		return a;
+	}
+
+	@Test
+	public void inclusiveScanIsTheSequentialPrefixSum() {
+		int[] a = randomInts(1);
+		int[] expected = a.clone();
+		for(int i = 1; i < N; i++){
+			expected[i] += expected[i-1];
+		}
+		long total = IntSlice.get(a).scanInclusive();
+		assertArrayEquals(expected, a);
+		assertEquals(expected[N-1], total);
+	}
+
+	@Test
+	public void exclusiveScanStartsAtZero() {
+		int[] a = randomInts(2);
+		int[] expected = new int[N];
+		long sum = 0;
+		for(int i = 0; i < N; i++){
+			expected[i] = (int)sum;
+			sum += a[i];
+		}
+		assertEquals(sum, IntSlice.get(a).scanExclusive());
+		assertArrayEquals(expected, a);
+	}
+
+	@Test
+	public void totalIsAccumulatedWithoutOverflow() {
+		int[] a = new int[N];
+		Arrays.fill(a, Integer.MAX_VALUE);
+		long total = IntSlice.get(a).scanInclusive();
+		assertEquals((long)N*Integer.MAX_VALUE, total);
+		assertEquals((int)(3L*Integer.MAX_VALUE), a[2]);
+	}
+
+	@Test
+	public void scanOnlyTheRangeOfTheSlice() {
+		double[] a = {1, 1, 1, 1, 1};
+		assertEquals(3, DoubleSlice.get(a).subSlice(1, 4).scanInclusive(), 0);
+		assertArrayEquals(new double[]{1, 1, 2, 3, 1}, a, 0);
+	}
+
+	@Test
+	public void compactionKeepsOrder() {
+		int[] a = randomInts(3);
+		IntSlice slice = IntSlice.get(a).subSlice(10, N-10);
+		int[] indices = slice.filterIndices(x->x%7 == 0);
+		int[] values = slice.filter(slice.mask(x->x%7 == 0));
+		assertEquals(indices.length, values.length);
+		int n = 0;
+		for(int i = 10; i < N-10; i++){
+			if(a[i]%7 == 0){
+				assertEquals(i, indices[n]);
+				assertEquals(a[i], values[n]);
+				n++;
+			}
+		}
+		assertEquals(n, indices.length);
+	}
+
+}
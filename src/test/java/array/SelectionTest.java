@@ -0,0 +1,114 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SelectionTest {
+
+	static final int N = 200_000;
+
+	static int[] randomInts(long seed, int n, int bound) {
+		Random rnd = new Random(seed);
+		int[] a = new int[n];
+		for(int i = 0; i < n; i++){
+			a[i] = rnd.nextInt(bound)-bound/2;
+		}
+		return a;
+	}
+
+	@Test
+	public void selectMatchesSortedOrderWithoutModifying() {
+		// few distinct values so that partitions contain many duplicates
+		for(int bound: new int[]{10, 1_000_000}){
+			int[] a = randomInts(bound, N, bound);
+			int[] original = a.clone();
+			int[] sorted = a.clone();
+			Arrays.sort(sorted);
+			IntSlice slice = IntSlice.get(a);
+			for(int k: new int[]{0, 1, N/3, N/2, N-2, N-1}){
+				assertEquals(sorted[k], slice.select(k));
+			}
+			assertArrayEquals(original, a);
+		}
+	}
+
+	@Test
+	public void selectOnSubSlice() {
+		int[] a = randomInts(1, N, 1000);
+		int[] sorted = Arrays.copyOfRange(a, 100, 90_100);
+		Arrays.sort(sorted);
+		IntSlice slice = IntSlice.get(a).subSlice(100, 90_100);
+		for(int k = 0; k < sorted.length; k += 997){
+			assertEquals(sorted[k], slice.select(k));
+		}
+	}
+
+	@Test
+	public void selectOrdersNaNLast() {
+		double[] a = {3, Double.NaN, -1, 2, Double.NaN, 0};
+		DoubleSlice slice = DoubleSlice.get(a);
+		assertEquals(-1, slice.select(0), 0);
+		assertEquals(3, slice.select(3), 0);
+		assertTrue(Double.isNaN(slice.select(5)));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void selectRejectsRankOutOfRange() {
+		IntSlice.get(new int[]{1, 2, 3}).select(3);
+	}
+
+	@Test
+	public void percentilesInterpolateBetweenRanks() {
+		double[] a = new double[101];
+		for(int i = 0; i < a.length; i++){
+			a[i] = (i*37)%101;
+		}
+		double[] p = DoubleSlice.get(a).percentiles(0, 50, 99, 100, 12.5);
+		assertArrayEquals(new double[]{0, 50, 99, 100, 12.5}, p, 0);
+		assertArrayEquals(new double[]{1.5}, IntSlice.get(new int[]{2, 1}).percentiles(50), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void percentilesRejectOutOfRange() {
+		IntSlice.get(new int[]{1}).percentiles(101);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void percentilesOfEmptySlice() {
+		IntSlice.get(new int[0]).percentiles(50);
+	}
+
+	@Test
+	public void topKIsTheDescendingTailOfTheSortedOrder() {
+		int[] a = randomInts(2, N, 1_000_000);
+		int[] sorted = a.clone();
+		Arrays.sort(sorted);
+		for(int k: new int[]{1, 10, 1000}){
+			int[] top = IntSlice.get(a).topK(k);
+			assertEquals(k, top.length);
+			for(int i = 0; i < k; i++){
+				assertEquals(sorted[N-1-i], top[i]);
+			}
+		}
+	}
+
+	@Test
+	public void topKOfSmallSlices() {
+		assertArrayEquals(new long[]{5, 3, 1}, LongSlice.get(new long[]{3, 1, 5}).topK(10));
+		assertArrayEquals(new long[0], LongSlice.get(new long[]{3, 1, 5}).topK(0));
+		double[] top = DoubleSlice.get(new double[]{1, Double.NaN, 2}).topK(2);
+		assertTrue(Double.isNaN(top[0]));
+		assertEquals(2, top[1], 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void topKRejectsNegativeK() {
+		IntSlice.get(new int[]{1}).topK(-1);
+	}
+
+}
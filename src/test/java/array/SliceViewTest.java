@@ -0,0 +1,88 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SliceViewTest {
+
+	static Integer[] range(int n) {
+		Integer[] a = new Integer[n];
+		for(int i = 0; i < n; i++){
+			a[i] = i;
+		}
+		return a;
+	}
+
+	@Test
+	public void subSliceKeepsAccessorIndices() {
+		Integer[] a = range(20);
+		Slice<Integer> view = Slice.get(a).subSlice(5, 15);
+		assertEquals(5, view.getBeginIdx());
+		assertEquals(10, view.size());
+		assertEquals(5, (int)view.getAt(view.getBeginIdx()));
+		view.setAt(7, -7);
+		assertEquals(-7, (int)a[7]);
+	}
+
+	@Test
+	public void strideKeepsTheBeginIndex() {
+		Integer[] a = range(20);
+		Slice<Integer> strided = Slice.get(a).subSlice(3, 15).stride(4);
+		assertEquals(3, strided.getBeginIdx());
+		assertEquals(3, strided.size());
+		int[] expected = {3, 7, 11};
+		for(int j = 0; j < expected.length; j++){
+			assertEquals(expected[j], (int)strided.getAt(strided.getBeginIdx()+j));
+		}
+		int[] n = {0};
+		strided.forEach(acc->assertEquals(expected[n[0]++], (int)acc.get()));
+		assertEquals(3, n[0]);
+		strided.setAt(strided.getBeginIdx()+1, -1);
+		assertEquals(-1, (int)a[7]);
+	}
+
+	@Test
+	public void viewsOfViewsCompose() {
+		Integer[] a = range(100);
+		Slice<Integer> twice = Slice.get(a).subSlice(10, 90).stride(2).subSlice(1, 6).stride(3);
+		assertEquals(11, twice.getBeginIdx());
+		assertEquals(2, twice.size());
+		assertEquals(12, (int)twice.getAt(twice.getBeginIdx()));
+		assertEquals(18, (int)twice.getAt(twice.getBeginIdx()+1));
+		assertEquals(30, twice.parallelStream().mapToInt(acc->acc.get()).sum());
+	}
+
+	@Test
+	public void copyBeginsAtZeroAndIsIndependent() {
+		Integer[] a = range(20);
+		Slice<Integer> copy = Slice.get(a).subSlice(2, 20).stride(5).copy();
+		assertEquals(0, copy.getBeginIdx());
+		assertEquals(4, copy.size());
+		assertEquals(17, (int)copy.getAt(3));
+		copy.setAt(0, -1);
+		assertEquals(2, (int)a[2]);
+	}
+
+	@Test
+	public void indirectResolvesThroughTheIndexSlice() {
+		Integer[] a = range(10);
+		int[] indices = {0, 9, 2, 4, 4};
+		Slice<Integer> gathered = Slice.get(a).indirect(IntSlice.get(indices, 1, 3));
+		assertEquals(1, gathered.getBeginIdx());
+		assertEquals(3, gathered.size());
+		assertEquals(9, (int)gathered.getAt(1));
+		assertEquals(4, (int)gathered.getAt(3));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void subSliceChecksRange() {
+		Slice.get(range(5)).subSlice(2, 6);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void strideRejectsNonPositiveStep() {
+		Slice.get(range(5)).stride(0);
+	}
+
+}
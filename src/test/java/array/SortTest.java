@@ -0,0 +1,131 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class SortTest {
+
+	static final int N = 100_000;
+
+	@Test
+	public void intsLikeArraysSort() {
+		Random rnd = new Random(1);
+		int[] a = new int[N];
+		for(int i = 0; i < N; i++){
+			a[i] = rnd.nextInt();
+		}
+		int[] expected = a.clone();
+		Arrays.sort(expected);
+		IntSlice.get(a).sort();
+		assertArrayEquals(expected, a);
+	}
+
+	@Test
+	public void longsLikeArraysSort() {
+		Random rnd = new Random(2);
+		long[] a = new long[N];
+		for(int i = 0; i < N; i++){
+			a[i] = i%3 == 0 ? rnd.nextLong() : rnd.nextInt(1000)-500;
+		}
+		long[] expected = a.clone();
+		Arrays.sort(expected);
+		LongSlice.get(a).sort();
+		assertArrayEquals(expected, a);
+	}
+
+	@Test
+	public void doublesWithSpecialValuesLikeArraysSort() {
+		Random rnd = new Random(3);
+		double[] special = {Double.NaN, -0.0, 0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE};
+		double[] a = new double[N];
+		for(int i = 0; i < N; i++){
+			a[i] = i%10 == 0 ? special[rnd.nextInt(special.length)] : rnd.nextGaussian()*1e6;
+		}
+		double[] expected = a.clone();
+		Arrays.sort(expected);
+		DoubleSlice.get(a).sort();
+		for(int i = 0; i < N; i++){
+			assertEquals(Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(a[i]));
+		}
+	}
+
+	@Test
+	public void floatsWithSpecialValuesLikeArraysSort() {
+		Random rnd = new Random(4);
+		float[] special = {Float.NaN, -0.0f, 0.0f, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+		float[] a = new float[N];
+		for(int i = 0; i < N; i++){
+			a[i] = i%10 == 0 ? special[rnd.nextInt(special.length)] : (float)rnd.nextGaussian();
+		}
+		float[] expected = a.clone();
+		Arrays.sort(expected);
+		FloatSlice.get(a).sort();
+		for(int i = 0; i < N; i++){
+			assertEquals(Float.floatToRawIntBits(expected[i]), Float.floatToRawIntBits(a[i]));
+		}
+	}
+
+	@Test
+	public void smallTypesLikeArraysSort() {
+		Random rnd = new Random(5);
+		short[] s = new short[N];
+		char[] c = new char[N];
+		byte[] b = new byte[N];
+		for(int i = 0; i < N; i++){
+			s[i] = (short)rnd.nextInt();
+			c[i] = (char)rnd.nextInt();
+			b[i] = (byte)rnd.nextInt();
+		}
+		short[] se = s.clone(); Arrays.sort(se);
+		char[] ce = c.clone(); Arrays.sort(ce);
+		byte[] be = b.clone(); Arrays.sort(be);
+		ShortSlice.get(s).sort();
+		CharSlice.get(c).sort();
+		ByteSlice.get(b).sort();
+		assertArrayEquals(se, s);
+		assertArrayEquals(ce, c);
+		assertArrayEquals(be, b);
+	}
+
+	@Test
+	public void sortsOnlyTheRangeOfTheSlice() {
+		Random rnd = new Random(6);
+		int[] a = new int[N];
+		for(int i = 0; i < N; i++){
+			a[i] = rnd.nextInt();
+		}
+		int[] expected = a.clone();
+		Arrays.sort(expected, 1000, N-1000);
+		IntSlice.get(a).subSlice(1000, N-1000).sort(new ForkJoinPool(3));
+		assertArrayEquals(expected, a);
+	}
+
+	@Test
+	public void smallAndEmptyRanges() {
+		int[] a = {3, 1, 2};
+		IntSlice.get(a).sort();
+		assertArrayEquals(new int[]{1, 2, 3}, a);
+		IntSlice.get(new int[0]).sort();
+	}
+
+	@Test
+	public void sortByKeyIsStable() {
+		Integer[] a = new Integer[N];
+		Random rnd = new Random(7);
+		for(int i = 0; i < N; i++){
+			a[i] = rnd.nextInt(100)*N + i;
+		}
+		// sort by the high part only, the low part (original position) has to stay ascending within equal keys
+		Slice.get(a).sort(x->x/N);
+		for(int i = 1; i < N; i++){
+			int k0 = a[i-1]/N, k1 = a[i]/N;
+			assertTrue(k0 < k1 || (k0 == k1 && a[i-1]%N < a[i]%N));
+		}
+	}
+
+}
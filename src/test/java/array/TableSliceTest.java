@@ -0,0 +1,67 @@
+package array;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TableSliceTest {
+
+	@Test
+	public void rowsAccessAllColumnsInLockstep() {
+		int[] ids = {1, 2, 3, 4};
+		double[] prices = {1.5, 2.5, 3.5, 4.5};
+		byte[] flags = {0, 1, 0, 1};
+		TableSlice table = TableSlice.get(ids, prices, flags).withNames("id", "price", "flag");
+		assertEquals(3, table.numColumns());
+		assertEquals(4, table.size());
+		assertEquals(double.class, table.columnType(1));
+		double sum = table.parallelStream().filter(row->row.getByte(2) == 1).mapToDouble(row->row.getInt(0)*row.getDouble(1)).sum();
+		assertEquals(2*2.5+4*4.5, sum, 0);
+	}
+
+	@Test
+	public void viewsShareTheColumns() {
+		int[] ids = {1, 2, 3, 4};
+		long[] counts = {10, 20, 30, 40};
+		TableSlice table = TableSlice.get(ids, counts).withNames("id", "count");
+		TableSlice view = table.subSlice(1, 3).select("count");
+		assertEquals(1, view.numColumns());
+		assertEquals(2, view.size());
+		assertEquals("count", view.columnName(0));
+		assertEquals(50, view.longColumn(0).sum());
+		view.forEach(row->row.setLong(0, row.getLong(0)+1));
+		assertArrayEquals(new long[]{10, 21, 31, 40}, counts);
+	}
+
+	@Test
+	public void rejectsNullColumnsNamingTheIndex() {
+		try {
+			TableSlice.get(new int[3], null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("Column 1"));
+		}
+		try {
+			TableSlice.get(new Object[]{null}, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("Column 0"));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonNativeColumns() {
+		TableSlice.get(new int[3], new boolean[3]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsColumnsOfDifferentLength() {
+		TableSlice.get(new int[3], new double[2]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsColumnsShorterThanTheRange() {
+		TableSlice.get(new Object[]{new int[10], new int[5]}, 2, 4);
+	}
+
+}